@@ -0,0 +1,72 @@
+package benchmarks;
+
+import dataLoader.AttendanceDateParser;
+import dataLoader.LoadTimeSheet;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the DateTimeFormatter path used for attendance rows against the
+ * hand-written fixed-format parser in {@link AttendanceDateParser}.
+ * Each invocation parses one row's worth of fields: a date, a log in and a log out.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AttendanceDateParseBenchmark {
+
+    private static final int SAMPLES = 1024;
+
+    private String[] dates;
+    private String[] logIns;
+    private String[] logOuts;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        dates = new String[SAMPLES];
+        logIns = new String[SAMPLES];
+        logOuts = new String[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            LocalDate date = LocalDate.of(2020, 1, 1).plusDays(random.nextInt(365 * 6));
+            dates[i] = date.format(LoadTimeSheet.DATE_FORMAT);
+            logIns[i] = LocalTime.of(7 + random.nextInt(4), random.nextInt(60)).format(LoadTimeSheet.TIME_FORMAT);
+            logOuts[i] = LocalTime.of(16 + random.nextInt(5), random.nextInt(60)).format(LoadTimeSheet.TIME_FORMAT);
+        }
+    }
+
+    @Benchmark
+    public void formatterParse(Blackhole blackhole) {
+        int i = next++ & (SAMPLES - 1);
+        blackhole.consume(LocalDate.parse(dates[i], LoadTimeSheet.DATE_FORMAT));
+        blackhole.consume(LocalTime.parse(logIns[i], LoadTimeSheet.TIME_FORMAT));
+        blackhole.consume(LocalTime.parse(logOuts[i], LoadTimeSheet.TIME_FORMAT));
+    }
+
+    @Benchmark
+    public void fixedFormatParse(Blackhole blackhole) {
+        int i = next++ & (SAMPLES - 1);
+        blackhole.consume(AttendanceDateParser.parseEpochDay(dates[i]));
+        blackhole.consume(AttendanceDateParser.parseMinuteOfDay(logIns[i]));
+        blackhole.consume(AttendanceDateParser.parseMinuteOfDay(logOuts[i]));
+    }
+}
@@ -0,0 +1,36 @@
+package benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the whole benchmark suite with the GC profiler attached, so every hot path reports
+ * both throughput and allocation rate (gc.alloc.rate.norm, bytes per operation).
+ * Results are written to target/jmh-results.json. Any regular JMH command-line options,
+ * such as a benchmark filter or -p rows=10000, are passed through.
+ *
+ * Usage: java -cp target/benchmarks.jar benchmarks.BenchmarkSuite [jmh options]
+ */
+public class BenchmarkSuite {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        OptionsBuilder builder = new OptionsBuilder();
+        builder.parent(commandLine);
+        if (commandLine.getIncludes().isEmpty()) {
+            builder.include("benchmarks\\..*Benchmark");
+        }
+        Options options = builder
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-results.json")
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,110 @@
+package benchmarks;
+
+import governmentContributions.CalculatePagibig;
+import governmentContributions.CalculatePhilhealth;
+import governmentContributions.CalculateSss;
+import governmentContributions.CalculateWithholdingTax;
+import governmentContributions.DeductionPipeline;
+import governmentContributions.DeductionResult;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the four government contribution calculators over salaries spread across
+ * every bracket. Each invocation computes one contribution per salary in the batch,
+ * except the pipeline benchmarks, which compute all four per salary.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContributionBenchmark {
+
+    private static final int BATCH = 10000;
+
+    private double[] salaries;
+    private double[] out;
+
+    @Setup
+    public void setUp() {
+        salaries = SyntheticData.salaries(BATCH);
+        out = new double[BATCH];
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public double sss() {
+        double total = 0;
+        for (double salary : salaries) total += CalculateSss.compute(salary);
+        return total;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public double[] sssBatch() {
+        CalculateSss.computeBatch(salaries, out);
+        return out;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public double philhealth() {
+        double total = 0;
+        for (double salary : salaries) total += CalculatePhilhealth.calculatePhilHealth(salary);
+        return total;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public double pagibig() {
+        double total = 0;
+        for (double salary : salaries) total += CalculatePagibig.compute(salary);
+        return total;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public double withholdingTax() {
+        double total = 0;
+        for (double salary : salaries) total += CalculateWithholdingTax.compute(salary);
+        return total;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public double[] withholdingTaxBatch() {
+        CalculateWithholdingTax.computeBatch(salaries, out);
+        return out;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public double allFourSeparately() {
+        double total = 0;
+        for (double salary : salaries) {
+            total += CalculatePagibig.compute(salary) + CalculatePhilhealth.calculatePhilHealth(salary)
+                    + CalculateSss.compute(salary) + CalculateWithholdingTax.compute(salary);
+        }
+        return total;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public DeductionResult pipeline() {
+        return DeductionPipeline.government().run(salaries);
+    }
+}
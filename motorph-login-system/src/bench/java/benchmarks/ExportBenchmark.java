@@ -0,0 +1,108 @@
+package benchmarks;
+
+import dataLoader.EmployeeMasterFile;
+import dataLoader.LoadEmployeeData;
+import dataLoader.TsvWriter;
+import models.EmployeeProfile;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares writing the employee master file with PrintWriter and a 19-placeholder
+ * String.format per row (the old save path) against {@link TsvWriter}, and formatting
+ * single amounts with %.2f against {@link TsvWriter#appendFixed2}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class ExportBenchmark {
+
+    private static final int AMOUNTS = 10000;
+
+    @Param({"10000", "100000"})
+    private int rows;
+
+    private List<EmployeeProfile> employees;
+    private double[] amounts;
+    private Path formatFile;
+    private Path writerFile;
+
+    @Setup
+    public void setUp() {
+        employees = LoadEmployeeData.loadFromFile(SyntheticData.employeeFile(rows));
+        amounts = SyntheticData.salaries(AMOUNTS);
+        formatFile = Path.of("target", "bench-data", "export-format-" + rows + ".tsv");
+        writerFile = Path.of("target", "bench-data", "export-writer-" + rows + ".tsv");
+    }
+
+    @Benchmark
+    public Path stringFormatPrintWriter() throws IOException {
+        try (PrintWriter writer = new PrintWriter(new FileWriter(formatFile.toFile(), StandardCharsets.UTF_8))) {
+            writer.println(EmployeeMasterFile.HEADER);
+            for (EmployeeProfile employee : employees) {
+                writer.println(String.format("%s\t%s\t%s\t%s\t%s\t%s\t%s\t%s\t%s\t%s\t%s\t%s\t%s\t%.2f\t%.2f\t%.2f\t%.2f\t%.2f\t%.2f",
+                        employee.getEmployeeNumber(), employee.getLastName(), employee.getFirstName(),
+                        employee.getBirthday(), employee.getAddress(), employee.getPhoneNumber(),
+                        employee.getSssNumber(), employee.getPhilhealthNumber(), employee.getTinNumber(),
+                        employee.getPagibigNumber(), employee.getStatus(), employee.getPosition(),
+                        employee.getImmediateSupervisor(), employee.getBasicSalary(), employee.getRiceSubsidy(),
+                        employee.getPhoneAllowance(), employee.getClothingAllowance(),
+                        employee.getGrossSemiMonthlyRate(), employee.getHourlyRate()));
+            }
+        }
+        return formatFile;
+    }
+
+    @Benchmark
+    public Path tsvWriter() throws IOException {
+        try (TsvWriter writer = TsvWriter.create(writerFile)) {
+            writer.line(EmployeeMasterFile.HEADER);
+            for (EmployeeProfile employee : employees) {
+                EmployeeMasterFile.writeRow(writer, employee);
+            }
+        }
+        return writerFile;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(AMOUNTS)
+    public int stringFormatFixed2() {
+        int length = 0;
+        for (double amount : amounts) length += String.format("%.2f", amount).length();
+        return length;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(AMOUNTS)
+    public int appendFixed2() {
+        StringBuilder out = new StringBuilder(32);
+        int length = 0;
+        for (double amount : amounts) {
+            out.setLength(0);
+            length += TsvWriter.appendFixed2(out, amount).length();
+        }
+        return length;
+    }
+}
@@ -0,0 +1,81 @@
+package benchmarks;
+
+import dataLoader.AttendanceIndex;
+import dataLoader.LoadEmployeeData;
+import dataLoader.LoadTimeSheet;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the attendance loaders against synthetic files of 10^4 to 10^7 rows, and the
+ * employee master loaders against the employees those rows belong to (one per 250 rows).
+ * The plain loaders read the binary snapshot written by the first load; the FromText
+ * variants always parse the TSV. The largest size is slow to generate and load; select
+ * sizes with -p rows=... when a quick run is enough.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class LoaderBenchmark {
+
+    @Param({"10000", "100000", "1000000", "10000000"})
+    private int rows;
+
+    private String attendanceFile;
+    private String employeeFile;
+    private String employeeNumber;
+
+    @Setup
+    public void setUp() {
+        attendanceFile = SyntheticData.attendanceFile(rows);
+        int employees = SyntheticData.employeesFor(rows);
+        employeeFile = SyntheticData.employeeFile(employees);
+        employeeNumber = Integer.toString(10001 + employees / 2);
+        AttendanceIndex.forFile(attendanceFile); // Warm the index for the lookup benchmark
+    }
+
+    @Benchmark
+    public Object loadEmployeeData() {
+        return LoadEmployeeData.loadFromFile(employeeFile);
+    }
+
+    @Benchmark
+    public Object loadEmployeeDataFromText() {
+        return LoadEmployeeData.loadFromText(employeeFile);
+    }
+
+    @Benchmark
+    public Object loadAttendanceStore() {
+        return LoadTimeSheet.loadStore(attendanceFile);
+    }
+
+    @Benchmark
+    public Object loadAttendanceStoreFromText() {
+        return LoadTimeSheet.parseTextStore(attendanceFile);
+    }
+
+    @Benchmark
+    public Object loadAllAttendance() {
+        return LoadTimeSheet.loadAll(attendanceFile);
+    }
+
+    @Benchmark
+    public Object loadForEmployeeIndexed() {
+        return LoadTimeSheet.loadForEmployee(attendanceFile, employeeNumber);
+    }
+}
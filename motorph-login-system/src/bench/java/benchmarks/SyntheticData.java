@@ -0,0 +1,161 @@
+package benchmarks;
+
+import dataLoader.LoadTimeSheet;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Random;
+
+/**
+ * Generates attendance and employee files shaped like the shipped resources, scaled to any
+ * number of rows. Files are written once under target/bench-data and reused by later runs.
+ */
+public class SyntheticData {
+
+    private static final Path DATA_DIR = Paths.get("target", "bench-data");
+
+    // Rows per employee in the generated attendance file, about one year of workdays
+    private static final int DAYS_PER_EMPLOYEE = 250;
+
+    private static final String[] LAST_NAMES = {
+        "Garcia", "Lim", "Aquino", "Reyes", "Hernandez", "Villanueva", "San Jose", "Romualdez",
+        "Atienza", "Alvaro", "Salcedo", "Lopez", "Farala", "Martinez", "Mata", "De Leon"
+    };
+    private static final String[] FIRST_NAMES = {
+        "Manuel III", "Antonio", "Bianca Sofia", "Isabella", "Eduard", "Andrea Mae", "Brad",
+        "Alice", "Rosie", "Roderick", "Anthony", "Josie", "Martha", "Leila", "Fredrick", "Christian"
+    };
+
+    /**
+     * Returns an attendance TSV with the given number of data rows, generating it if needed.
+     */
+    public static String attendanceFile(int rows) {
+        Path file = DATA_DIR.resolve("attendance-" + rows + ".tsv");
+        if (!Files.exists(file)) {
+            writeAttendance(file, rows);
+        }
+        return file.toString();
+    }
+
+    /**
+     * Returns an employee details file with the given number of employees, generating it if needed.
+     */
+    public static String employeeFile(int employees) {
+        Path file = DATA_DIR.resolve("employees-" + employees + ".tsv");
+        if (!Files.exists(file)) {
+            writeEmployees(file, employees);
+        }
+        return file.toString();
+    }
+
+    /**
+     * Number of employees covered by an attendance file of the given size.
+     */
+    public static int employeesFor(int attendanceRows) {
+        return Math.max(1, attendanceRows / DAYS_PER_EMPLOYEE);
+    }
+
+    /**
+     * Returns monthly salaries spread over every SSS, PhilHealth and tax bracket.
+     */
+    public static double[] salaries(int count) {
+        Random random = new Random(7);
+        double[] salaries = new double[count];
+        for (int i = 0; i < count; i++) {
+            salaries[i] = 2000 + random.nextDouble() * 200000;
+        }
+        return salaries;
+    }
+
+    private static void writeAttendance(Path file, int rows) {
+        Random random = new Random(42);
+        int employees = employeesFor(rows);
+        try {
+            Files.createDirectories(file.getParent());
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                writer.write("Employee #\tLast Name\tFirst Name\tDate\tLog In\tLog Out");
+                LocalDate day = LocalDate.of(2020, 1, 1);
+                int written = 0;
+                while (written < rows) {
+                    if (day.getDayOfWeek() != DayOfWeek.SATURDAY && day.getDayOfWeek() != DayOfWeek.SUNDAY) {
+                        String date = day.format(LoadTimeSheet.DATE_FORMAT);
+                        for (int e = 0; e < employees && written < rows; e++, written++) {
+                            writer.write('\n');
+                            writer.write(Integer.toString(10001 + e));
+                            writer.write('\t');
+                            writer.write(LAST_NAMES[e % LAST_NAMES.length]);
+                            writer.write('\t');
+                            writer.write(FIRST_NAMES[e % FIRST_NAMES.length]);
+                            writer.write('\t');
+                            writer.write(date);
+                            writer.write('\t');
+                            writeTime(writer, 7 + random.nextInt(4), random.nextInt(60));
+                            writer.write('\t');
+                            writeTime(writer, 16 + random.nextInt(5), random.nextInt(60));
+                        }
+                    }
+                    day = day.plusDays(1);
+                }
+            }
+            Files.move(temp, file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeEmployees(Path file, int employees) {
+        Random random = new Random(17);
+        try {
+            Files.createDirectories(file.getParent());
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                writer.write("Employee Number\tLast Name\tFirst Name\tBirthday\tAddress\tPhone Number\t"
+                        + "SSS Number\tPhilHealth Number\tTIN Number\tPag-IBIG Number\tStatus\tPosition\t"
+                        + "Immediate Supervisor\tBasic Salary\tRice Subsidy\tPhone Allowance\t"
+                        + "Clothing Allowance\tGross Semi-monthly Rate\tHourly Rate\n");
+                for (int e = 0; e < employees; e++) {
+                    double basic = 20000 + random.nextInt(70) * 1000;
+                    writer.write(String.join("\t",
+                            Integer.toString(10001 + e),
+                            LAST_NAMES[e % LAST_NAMES.length],
+                            FIRST_NAMES[e % FIRST_NAMES.length],
+                            "10/11/1983",
+                            "Valero Carpark Building Valero Street 1227, Makati City",
+                            "966-860-270",
+                            "44-4506057-3",
+                            "820126853951",
+                            "442-605-657-000",
+                            "691295330870",
+                            e % 3 == 0 ? "Probationary" : "Regular",
+                            "Account Rank and File",
+                            "Garcia, Manuel III",
+                            String.format("%.2f", basic),
+                            "1500.00",
+                            "1000.00",
+                            "1000.00",
+                            String.format("%.2f", basic / 2),
+                            String.format("%.2f", basic / 168)));
+                    writer.write('\n');
+                }
+            }
+            Files.move(temp, file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeTime(BufferedWriter writer, int hour, int minute) throws IOException {
+        writer.write(Integer.toString(hour));
+        writer.write(':');
+        if (minute < 10) writer.write('0');
+        writer.write(Integer.toString(minute));
+    }
+}
@@ -0,0 +1,55 @@
+package benchmarks;
+
+import dataLoader.LoadTimeSheet;
+import models.TimeLog;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures TimeLog construction, derived values and the TSV line factory.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimeLogBenchmark {
+
+    private final String line = "10001\tGarcia\tManuel III\t06/03/2024\t8:59\t18:31";
+    private final LocalDate date = LocalDate.of(2024, 6, 3);
+    private final LocalTime logIn = LocalTime.of(8, 59);
+    private final LocalTime logOut = LocalTime.of(18, 31);
+
+    @Benchmark
+    public TimeLog construct() {
+        return new TimeLog("10001", "Garcia", "Manuel III", date, logIn, logOut);
+    }
+
+    @Benchmark
+    public void constructAndDerive(Blackhole blackhole) {
+        TimeLog log = new TimeLog("10001", "Garcia", "Manuel III", date, logIn, logOut);
+        blackhole.consume(log.getHoursWorked());
+        blackhole.consume(log.getOvertime());
+        blackhole.consume(log.getWeekNumber());
+        blackhole.consume(log.hasLateLoginDeduction());
+    }
+
+    @Benchmark
+    public TimeLog fromTsvLine() {
+        return TimeLog.fromTsvLine(line, LoadTimeSheet.DATE_FORMAT);
+    }
+}
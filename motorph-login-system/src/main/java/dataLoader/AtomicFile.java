@@ -0,0 +1,111 @@
+package dataLoader;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * AtomicFile.java
+ * Replaces a file so that readers see either the old or the new content, never a partial
+ * write: the content goes to a temporary file in the same directory, is forced to disk,
+ * renamed over the target (atomically where the file system supports it) and the directory
+ * is synced so the rename survives a crash. The temporary file is removed on failure.
+ *
+ * Used for the master file and its change log, binary snapshots, the attendance partition
+ * manifest and metrics dumps.
+ */
+public final class AtomicFile {
+
+    /**
+     * Writes the content of a file to an open channel. The channel is forced and closed
+     * by {@link AtomicFile}; flush any buffered writer on it, but do not close it.
+     */
+    @FunctionalInterface
+    public interface Content {
+        void writeTo(FileChannel channel) throws IOException;
+    }
+
+    private AtomicFile() {
+    }
+
+    /**
+     * Replaces a file with the bytes remaining in a buffer.
+     * @param target The file to replace (or create).
+     * @param bytes The content, from its position to its limit.
+     * @throws IOException If the file cannot be written; the target is then unchanged.
+     */
+    public static void write(Path target, ByteBuffer bytes) throws IOException {
+        write(target, false, channel -> {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        });
+    }
+
+    /**
+     * Replaces a file with the content written by the callback.
+     * @param target The file to replace (or create).
+     * @param content Writes the new content.
+     * @throws IOException If the file cannot be written; the target is then unchanged.
+     */
+    public static void write(Path target, Content content) throws IOException {
+        write(target, false, content);
+    }
+
+    /**
+     * Replaces a file with the content written by the callback.
+     * @param target The file to replace (or create).
+     * @param keepPermissions Whether the new file gets the POSIX permissions of the one it
+     *                        replaces; temporary files are otherwise created owner-only.
+     * @param content Writes the new content.
+     * @throws IOException If the file cannot be written; the target is then unchanged.
+     */
+    public static void write(Path target, boolean keepPermissions, Content content) throws IOException {
+        Path file = target.toAbsolutePath();
+        Path directory = file.getParent();
+        Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            if (keepPermissions) {
+                copyPermissions(file, temp);
+            }
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                content.writeTo(channel);
+                channel.force(true);
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            forceDirectory(directory);
+        } finally {
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException e) {
+                // Left behind; harmless
+            }
+        }
+    }
+
+    private static void copyPermissions(Path from, Path to) {
+        try {
+            Files.setPosixFilePermissions(to, Files.getPosixFilePermissions(from));
+        } catch (UnsupportedOperationException | IOException e) {
+            // No POSIX permissions here, or no file to copy them from yet
+        }
+    }
+
+    // Makes the rename itself durable; not every platform can open a directory, which is fine
+    private static void forceDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Directory sync is not supported here (e.g. Windows)
+        }
+    }
+}
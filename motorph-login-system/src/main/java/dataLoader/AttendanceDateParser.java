@@ -0,0 +1,144 @@
+package dataLoader;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Hand-written parser for the fixed date and time formats of the attendance record file.
+ * Dates in "MM/dd/yyyy" become epoch days and times in "H:mm" become minutes of the day,
+ * without going through {@link java.time.format.DateTimeFormatter}. Input that does not
+ * match the fixed layout falls back to the formatters in {@link LoadTimeSheet}, so the
+ * accepted values and error behaviour stay the same as before.
+ */
+public class AttendanceDateParser {
+
+    /** Returned by the byte-level parsers when the input does not match the fixed layout. */
+    public static final int INVALID = Integer.MIN_VALUE;
+
+    // Days from 0000-01-01 to 1970-01-01, as used by LocalDate.toEpochDay
+    private static final int DAYS_0000_TO_1970 = 719528;
+
+    /**
+     * Parses a "MM/dd/yyyy" date into its epoch day.
+     * @param text The date text.
+     * @return Days since 1970-01-01.
+     * @throws java.time.format.DateTimeParseException If the text is not a valid date.
+     */
+    public static int parseEpochDay(CharSequence text) {
+        if (text.length() == 10 && text.charAt(2) == '/' && text.charAt(5) == '/') {
+            int month = digits(text, 0, 2);
+            int day = digits(text, 3, 5);
+            int year = digits(text, 6, 10);
+            if (isValidDate(year, month, day)) {
+                return epochDay(year, month, day);
+            }
+        }
+        return (int) LocalDate.parse(text, LoadTimeSheet.DATE_FORMAT).toEpochDay();
+    }
+
+    /**
+     * Parses an "H:mm" time into its minute of the day.
+     * @param text The time text.
+     * @return Minutes since midnight (0-1439).
+     * @throws java.time.format.DateTimeParseException If the text is not a valid time.
+     */
+    public static int parseMinuteOfDay(CharSequence text) {
+        int length = text.length();
+        if ((length == 4 || length == 5) && text.charAt(length - 3) == ':') {
+            int hour = digits(text, 0, length - 3);
+            int minute = digits(text, length - 2, length);
+            if (hour >= 0 && hour <= 23 && minute >= 0 && minute <= 59) {
+                return hour * 60 + minute;
+            }
+        }
+        return LocalTime.parse(text, LoadTimeSheet.TIME_FORMAT).toSecondOfDay() / 60;
+    }
+
+    /**
+     * Parses a "MM/dd/yyyy" date stored as ASCII bytes.
+     * @return Days since 1970-01-01, or {@link #INVALID} if the bytes do not match the fixed layout.
+     */
+    public static int parseEpochDay(ByteBuffer buffer, int start, int end) {
+        if (end - start != 10 || buffer.get(start + 2) != '/' || buffer.get(start + 5) != '/') return INVALID;
+        int month = digits(buffer, start, start + 2);
+        int day = digits(buffer, start + 3, start + 5);
+        int year = digits(buffer, start + 6, start + 10);
+        return isValidDate(year, month, day) ? epochDay(year, month, day) : INVALID;
+    }
+
+    /**
+     * Parses an "H:mm" time stored as ASCII bytes.
+     * @return Minutes since midnight, or {@link #INVALID} if the bytes do not match the fixed layout.
+     */
+    public static int parseMinuteOfDay(ByteBuffer buffer, int start, int end) {
+        int length = end - start;
+        if ((length != 4 && length != 5) || buffer.get(end - 3) != ':') return INVALID;
+        int hour = digits(buffer, start, end - 3);
+        int minute = digits(buffer, end - 2, end);
+        if (hour < 0 || hour > 23 || minute < 0 || minute > 59) return INVALID;
+        return hour * 60 + minute;
+    }
+
+    /**
+     * Converts a calendar date into its epoch day, using the same proleptic Gregorian
+     * arithmetic as {@link LocalDate#toEpochDay()} but without creating a LocalDate.
+     */
+    public static int epochDay(int year, int month, int day) {
+        long y = year;
+        long total = 365 * y;
+        if (y >= 0) {
+            total += (y + 3) / 4 - (y + 99) / 100 + (y + 399) / 400;
+        } else {
+            total -= y / -4 - y / -100 + y / -400;
+        }
+        total += (367 * month - 362) / 12;
+        total += day - 1;
+        if (month > 2) {
+            total--;
+            if (!isLeapYear(year)) {
+                total--;
+            }
+        }
+        return (int) (total - DAYS_0000_TO_1970);
+    }
+
+    private static boolean isValidDate(int year, int month, int day) {
+        if (year < 0 || month < 1 || month > 12 || day < 1) return false;
+        switch (month) {
+            case 2:
+                return day <= (isLeapYear(year) ? 29 : 28);
+            case 4: case 6: case 9: case 11:
+                return day <= 30;
+            default:
+                return day <= 31;
+        }
+    }
+
+    private static boolean isLeapYear(int year) {
+        return (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+    }
+
+    // Parses an unsigned decimal number, or returns -1 if the range is empty or not all digits
+    private static int digits(CharSequence text, int start, int end) {
+        if (start >= end) return -1;
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) return -1;
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static int digits(ByteBuffer buffer, int start, int end) {
+        if (start >= end) return -1;
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) return -1;
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+}
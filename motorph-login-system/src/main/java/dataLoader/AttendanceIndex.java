@@ -0,0 +1,171 @@
+package dataLoader;
+
+import models.TimeLog;
+import models.TimeLogStore;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory index over an attendance record file.
+ * The file is parsed once per file version (last-modified time and size) into a
+ * {@link TimeLogStore} whose rows are ordered by employee and date, so month and year
+ * lookups are answered with a binary search over a primitive date column instead of
+ * re-reading the whole file on every salary computation.
+ */
+public class AttendanceIndex {
+
+    // One index per attendance file, rebuilt only when the file changes on disk
+    private static final Map<String, AttendanceIndex> INDEXES = new HashMap<>();
+
+    private final String filePath;
+    private final long lastModified;
+    private final long size;
+    private final TimeLogStore store;
+    // Employee number -> {first row, end row} in the sorted store
+    private final Map<String, int[]> rowsByEmployee;
+
+    AttendanceIndex(String filePath, long lastModified, long size, TimeLogStore store) {
+        this.filePath = filePath;
+        this.lastModified = lastModified;
+        this.size = size;
+        this.store = store;
+        this.rowsByEmployee = new HashMap<>();
+        int row = 0;
+        while (row < store.size()) {
+            int employeeId = store.employeeId(row);
+            int end = row + 1;
+            while (end < store.size() && store.employeeId(end) == employeeId) end++;
+            rowsByEmployee.put(store.employeeNumber(row), new int[] {row, end});
+            row = end;
+        }
+    }
+
+    /**
+     * Returns the index for the given attendance file, building it on first use and
+     * rebuilding it whenever the file's last-modified time or size has changed.
+     * @param filePath Path to the attendance record file (TSV).
+     * @return The up-to-date index for the file.
+     */
+    public static synchronized AttendanceIndex forFile(String filePath) {
+        Path path = Paths.get(filePath);
+        long lastModified = -1;
+        long size = -1;
+        try {
+            lastModified = Files.getLastModifiedTime(path).toMillis();
+            size = Files.size(path);
+        } catch (IOException e) {
+            System.err.println("Error reading attendance file attributes: " + e.getMessage());
+        }
+
+        AttendanceIndex index = INDEXES.get(filePath);
+        if (index == null || index.lastModified != lastModified || index.size != size) {
+            TimeLogStore sorted = LoadTimeSheet.loadStore(filePath).sortedByEmployeeAndDate();
+            index = new AttendanceIndex(filePath, lastModified, size, sorted);
+            INDEXES.put(filePath, index);
+        }
+        return index;
+    }
+
+    /**
+     * Merges rows appended to the attendance file into its cached index without
+     * re-reading the file. The merge only happens if the cached index was built from
+     * exactly the bytes before the append; otherwise the cached index is dropped and
+     * the next {@link #forFile} call rebuilds it from the file.
+     * @param filePath Path to the attendance record file (TSV).
+     * @param previousSize File size the appended rows start at.
+     * @param appended The appended rows, in file order.
+     * @param lastModified Last-modified time of the file after the append.
+     * @param size Size of the file after the append.
+     * @return true if the cached index was updated in place.
+     */
+    static synchronized boolean applyAppend(String filePath, long previousSize, TimeLogStore appended,
+                                            long lastModified, long size) {
+        AttendanceIndex index = INDEXES.get(filePath);
+        if (index == null) {
+            return false; // Nothing cached; the next lookup loads the whole file anyway
+        }
+        if (index.size != previousSize) {
+            INDEXES.remove(filePath);
+            return false;
+        }
+        TimeLogStore merged = index.store.mergeSorted(appended.sortedByEmployeeAndDate());
+        INDEXES.put(filePath, new AttendanceIndex(filePath, lastModified, size, merged));
+        return true;
+    }
+
+    /**
+     * Returns all time logs of an employee, sorted by date.
+     * @param employeeNumber The employee number to look up.
+     * @return Unmodifiable list of the employee's logs (empty if none).
+     */
+    public List<TimeLog> getLogs(String employeeNumber) {
+        int[] rows = rowsByEmployee.get(employeeNumber);
+        return rows == null ? Collections.emptyList() : store.view(rows[0], rows[1]);
+    }
+
+    /**
+     * Returns the time logs of an employee whose date falls within the given range.
+     * @param employeeNumber The employee number to look up.
+     * @param from First date of the range (inclusive).
+     * @param to Last date of the range (inclusive).
+     * @return Unmodifiable list of the matching logs, sorted by date.
+     */
+    public List<TimeLog> getLogsBetween(String employeeNumber, LocalDate from, LocalDate to) {
+        int[] rows = rowsByEmployee.get(employeeNumber);
+        if (rows == null) {
+            return Collections.emptyList();
+        }
+        int start = firstRowOnOrAfter(rows[0], rows[1], from.toEpochDay());
+        int end = firstRowOnOrAfter(start, rows[1], to.toEpochDay() + 1);
+        if (start >= end) {
+            return Collections.emptyList();
+        }
+        return store.view(start, end);
+    }
+
+    /**
+     * Returns the time logs of an employee for a calendar month.
+     * @param employeeNumber The employee number to look up.
+     * @param year The year of the month.
+     * @param month The month (1-12).
+     * @return Unmodifiable list of the month's logs, sorted by date.
+     */
+    public List<TimeLog> getLogsForMonth(String employeeNumber, int year, int month) {
+        LocalDate start = LocalDate.of(year, month, 1);
+        return getLogsBetween(employeeNumber, start, start.withDayOfMonth(start.lengthOfMonth()));
+    }
+
+    /**
+     * Checks whether an employee has at least one time log in the given year.
+     * @param employeeNumber The employee number to look up.
+     * @param year The year to check.
+     * @return true if any log exists for that year.
+     */
+    public boolean hasLogsInYear(String employeeNumber, int year) {
+        return !getLogsBetween(employeeNumber, LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31)).isEmpty();
+    }
+
+    public String getFilePath() { return filePath; }
+    public TimeLogStore getStore() { return store; }
+
+    // Binary search for the first row in [low, high) whose date is not before the given epoch day
+    private int firstRowOnOrAfter(int low, int high, long epochDay) {
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (store.epochDay(mid) < epochDay) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
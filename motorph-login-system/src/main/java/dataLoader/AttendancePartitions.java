@@ -0,0 +1,381 @@
+package dataLoader;
+
+import models.TimeLogStore;
+import models.TimeLog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * AttendancePartitions.java
+ * Attendance records split into one partition per calendar month, stored as binary
+ * snapshots in a directory next to the attendance file ("&lt;file&gt;.partitions"), with a
+ * small text manifest listing each month, its row count and the employees that have
+ * logs in it.
+ *
+ * A month query loads only that month's partition, and whether an employee has logs in
+ * a year is answered from the manifest alone, so payroll for the current period does
+ * not get slower as attendance history grows. Loaded months are kept in a small
+ * least-recently-used cache.
+ *
+ * The manifest records the attendance file's last-modified time and size. When the file
+ * has changed in any other way than through {@link #applyAppend}, the partitions are
+ * rebuilt from the whole file once.
+ */
+public class AttendancePartitions {
+
+    public static final String DIRECTORY_SUFFIX = ".partitions";
+
+    private static final String MANIFEST = "manifest.tsv";
+    private static final String MANIFEST_HEADER = "# attendance partitions v1";
+    private static final int CACHED_MONTHS = 24;
+
+    // One partition set per attendance file
+    private static final Map<String, AttendancePartitions> PARTITIONS = new HashMap<>();
+
+    private final String filePath;
+    private final Path directory;
+    private long lastModified;
+    private long size;
+    // Period (year * 12 + month - 1) -> partition summary, in period order
+    private final TreeMap<Integer, PartitionInfo> manifest = new TreeMap<>();
+    // Partitions that could not be written to disk are kept here instead
+    private final Map<Integer, TimeLogStore> unpersisted = new HashMap<>();
+    private final Map<Integer, AttendanceIndex> loaded = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, AttendanceIndex> eldest) {
+            return size() > CACHED_MONTHS;
+        }
+    };
+
+    private AttendancePartitions(String filePath) {
+        this.filePath = filePath;
+        this.directory = Paths.get(filePath + DIRECTORY_SUFFIX);
+    }
+
+    /**
+     * Returns the partitions of an attendance file, reading the manifest on first use and
+     * rebuilding the partitions if the file has changed since they were written.
+     * @param filePath Path to the attendance record file (TSV).
+     * @return The up-to-date partitions.
+     */
+    public static synchronized AttendancePartitions forFile(String filePath) {
+        long[] stamp = BinarySnapshot.stamp(filePath);
+        AttendancePartitions partitions = PARTITIONS.get(filePath);
+        if (partitions != null && partitions.matches(stamp)) {
+            return partitions;
+        }
+
+        partitions = new AttendancePartitions(filePath);
+        if (!partitions.readManifest() || !partitions.matches(stamp)) {
+            partitions.rebuild(stamp);
+        }
+        PARTITIONS.put(filePath, partitions);
+        return partitions;
+    }
+
+    /**
+     * Merges rows appended to the attendance file into the partitions of their months,
+     * rewriting only those partitions and the manifest. If the partitions in memory were
+     * not built from exactly the bytes before the append, they are dropped and rebuilt
+     * on next use instead.
+     * @param filePath Path to the attendance record file (TSV).
+     * @param previousSize File size the appended rows start at.
+     * @param appended The appended rows, in file order.
+     * @param lastModified Last-modified time of the file after the append.
+     * @param size Size of the file after the append.
+     * @return true if the partitions were updated in place.
+     */
+    static synchronized boolean applyAppend(String filePath, long previousSize, TimeLogStore appended,
+                                            long lastModified, long size) {
+        AttendancePartitions partitions = PARTITIONS.get(filePath);
+        if (partitions == null) {
+            return false; // The manifest will not match the file and is rebuilt on first use
+        }
+        if (partitions.size != previousSize) {
+            PARTITIONS.remove(filePath);
+            return false;
+        }
+        partitions.merge(appended.sortedByEmployeeAndDate(), lastModified, size);
+        return true;
+    }
+
+    /**
+     * Returns the index of one month's partition. Only that partition is read.
+     * @param year The year of the month.
+     * @param month The month (1-12).
+     * @return Index over the month's rows (empty if the month has no logs).
+     */
+    public synchronized AttendanceIndex month(int year, int month) {
+        int period = period(year, month);
+        AttendanceIndex index = loaded.get(period);
+        if (index == null) {
+            index = new AttendanceIndex(partitionFile(period).toString(), lastModified, size, loadStore(period));
+            loaded.put(period, index);
+        }
+        return index;
+    }
+
+    /**
+     * Returns the time logs of an employee for a calendar month.
+     * @param employeeNumber The employee number to look up.
+     * @param year The year of the month.
+     * @param month The month (1-12).
+     * @return Unmodifiable list of the month's logs, sorted by date.
+     */
+    public List<TimeLog> getLogsForMonth(String employeeNumber, int year, int month) {
+        return month(year, month).getLogs(employeeNumber);
+    }
+
+    /**
+     * Checks whether an employee has at least one time log in the given year, using the
+     * manifest only.
+     * @param employeeNumber The employee number to look up.
+     * @param year The year to check.
+     * @return true if any log exists for that year.
+     */
+    public synchronized boolean hasLogsInYear(String employeeNumber, int year) {
+        // Ids of numbers that are not plain decimals can clash, so this may rarely say true for
+        // an employee without logs; the month lookup itself matches the number exactly
+        int employeeId = TimeLogStore.idOf(employeeNumber.trim());
+        for (PartitionInfo info : manifest.subMap(period(year, 1), true, period(year, 12), true).values()) {
+            if (Arrays.binarySearch(info.employeeIds, employeeId) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the months that have attendance, as {year, month} pairs in order.
+     */
+    public synchronized List<int[]> getMonths() {
+        List<int[]> months = new ArrayList<>(manifest.size());
+        for (int period : manifest.keySet()) {
+            months.add(new int[] {period / 12, period % 12 + 1});
+        }
+        return months;
+    }
+
+    public String getFilePath() { return filePath; }
+    public Path getDirectory() { return directory; }
+
+    private boolean matches(long[] stamp) {
+        return stamp != null && stamp[0] == lastModified && stamp[1] == size;
+    }
+
+    private static int period(int year, int month) {
+        return year * 12 + (month - 1);
+    }
+
+    private static int period(int epochDay) {
+        LocalDate date = LocalDate.ofEpochDay(epochDay);
+        return period(date.getYear(), date.getMonthValue());
+    }
+
+    private Path partitionFile(int period) {
+        return directory.resolve(String.format("%04d-%02d", period / 12, period % 12 + 1) + BinarySnapshot.SUFFIX);
+    }
+
+    // The stamp stored in a partition file: its period and row count, both checked against the manifest
+    private static long[] partitionStamp(int period, int rows) {
+        return new long[] {period, rows};
+    }
+
+    private TimeLogStore loadStore(int period) {
+        if (!manifest.containsKey(period)) {
+            return new TimeLogStore();
+        }
+        TimeLogStore store = readPartition(period);
+        if (store == null) {
+            // Partition file missing or out of step with the manifest
+            System.err.println("Rebuilding attendance partitions of " + filePath);
+            rebuild(BinarySnapshot.stamp(filePath));
+            store = manifest.containsKey(period) ? readPartition(period) : null;
+        }
+        return store == null ? new TimeLogStore() : store;
+    }
+
+    // The rows of a listed month, or null if its partition file is missing or damaged
+    private TimeLogStore readPartition(int period) {
+        TimeLogStore store = unpersisted.get(period);
+        if (store == null) {
+            PartitionInfo info = manifest.get(period);
+            store = BinarySnapshot.readAttendance(partitionFile(period), partitionStamp(period, info.rows));
+        }
+        return store;
+    }
+
+    // Splits the whole attendance file into monthly partitions and writes them with a new manifest
+    private void rebuild(long[] stamp) {
+        TimeLogStore sorted = LoadTimeSheet.loadStore(filePath).sortedByEmployeeAndDate();
+        Map<Integer, TimeLogStore> stores = new TreeMap<>();
+        for (int row = 0; row < sorted.size(); row++) {
+            int period = period(sorted.epochDay(row));
+            TimeLogStore store = stores.computeIfAbsent(period, p -> new TimeLogStore());
+            copyRow(sorted, row, store);
+        }
+
+        manifest.clear();
+        unpersisted.clear();
+        loaded.clear();
+        lastModified = stamp == null ? -1 : stamp[0];
+        size = stamp == null ? -1 : stamp[1];
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            System.err.println("Error creating attendance partition directory: " + e.getMessage());
+        }
+        for (Map.Entry<Integer, TimeLogStore> entry : stores.entrySet()) {
+            storePartition(entry.getKey(), entry.getValue());
+        }
+        writeManifest();
+        deleteUnlistedPartitions();
+    }
+
+    // Merges sorted appended rows into the partitions of their months
+    private synchronized void merge(TimeLogStore appended, long newLastModified, long newSize) {
+        Map<Integer, TimeLogStore> byPeriod = new TreeMap<>();
+        for (int row = 0; row < appended.size(); row++) {
+            copyRow(appended, row, byPeriod.computeIfAbsent(period(appended.epochDay(row)), p -> new TimeLogStore()));
+        }
+        for (Map.Entry<Integer, TimeLogStore> entry : byPeriod.entrySet()) {
+            int period = entry.getKey();
+            TimeLogStore existing = manifest.containsKey(period) ? readPartition(period) : new TimeLogStore();
+            if (existing == null) {
+                // A damaged partition cannot be merged into; the file already holds the appended rows
+                rebuild(BinarySnapshot.stamp(filePath));
+                return;
+            }
+            TimeLogStore merged = existing.mergeSorted(entry.getValue());
+            storePartition(period, merged);
+            loaded.remove(period);
+        }
+        lastModified = newLastModified;
+        size = newSize;
+        writeManifest();
+    }
+
+    private void storePartition(int period, TimeLogStore store) {
+        TreeSet<Integer> employeeIds = new TreeSet<>();
+        for (int row = 0; row < store.size(); row++) {
+            employeeIds.add(store.employeeId(row));
+        }
+        manifest.put(period, new PartitionInfo(store.size(),
+                employeeIds.stream().mapToInt(Integer::intValue).toArray()));
+        if (BinarySnapshot.writeAttendance(partitionFile(period), store, partitionStamp(period, store.size()))) {
+            unpersisted.remove(period);
+        } else {
+            unpersisted.put(period, store);
+        }
+    }
+
+    private static void copyRow(TimeLogStore from, int row, TimeLogStore to) {
+        int employeeId = from.employeeId(row);
+        if (!to.hasIdentity(employeeId)) {
+            to.putIdentity(employeeId, from.employeeNumber(row), from.lastName(row), from.firstName(row));
+        }
+        to.add(employeeId, from.epochDay(row), from.logInMinute(row), from.logOutMinute(row));
+    }
+
+    // Manifest: header, "source" line with the attendance file stamp, then one line per month:
+    // yyyy-MM \t rows \t comma-separated employee ids
+    private boolean readManifest() {
+        Path file = directory.resolve(MANIFEST);
+        if (!Files.isRegularFile(file)) {
+            return false;
+        }
+        try {
+            List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            if (lines.size() < 2 || !lines.get(0).equals(MANIFEST_HEADER)) {
+                return false;
+            }
+            String[] source = lines.get(1).split("\t");
+            lastModified = Long.parseLong(source[1]);
+            size = Long.parseLong(source[2]);
+            for (String line : lines.subList(2, lines.size())) {
+                String[] fields = line.split("\t", -1);
+                String[] yearMonth = fields[0].split("-");
+                int[] employeeIds = fields[2].isEmpty() ? new int[0]
+                        : Arrays.stream(fields[2].split(",")).mapToInt(Integer::parseInt).toArray();
+                manifest.put(period(Integer.parseInt(yearMonth[0]), Integer.parseInt(yearMonth[1])),
+                        new PartitionInfo(Integer.parseInt(fields[1]), employeeIds));
+            }
+            return true;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Ignoring damaged attendance partition manifest: " + e.getMessage());
+            manifest.clear();
+            return false;
+        }
+    }
+
+    private void writeManifest() {
+        StringBuilder text = new StringBuilder(MANIFEST_HEADER).append('\n');
+        text.append("source\t").append(lastModified).append('\t').append(size).append('\n');
+        for (Map.Entry<Integer, PartitionInfo> entry : manifest.entrySet()) {
+            int period = entry.getKey();
+            PartitionInfo info = entry.getValue();
+            text.append(String.format("%04d-%02d", period / 12, period % 12 + 1))
+                .append('\t').append(info.rows).append('\t');
+            for (int i = 0; i < info.employeeIds.length; i++) {
+                if (i > 0) text.append(',');
+                text.append(info.employeeIds[i]);
+            }
+            text.append('\n');
+        }
+
+        try {
+            AtomicFile.write(directory.resolve(MANIFEST),
+                    ByteBuffer.wrap(text.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (IOException e) {
+            System.err.println("Error writing attendance partition manifest: " + e.getMessage());
+        }
+    }
+
+    // Removes partitions of months that no longer have attendance after a rebuild
+    private void deleteUnlistedPartitions() {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + BinarySnapshot.SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                String[] yearMonth = name.substring(0, name.length() - BinarySnapshot.SUFFIX.length()).split("-");
+                try {
+                    int period = period(Integer.parseInt(yearMonth[0]), Integer.parseInt(yearMonth[1]));
+                    if (!manifest.containsKey(period)) {
+                        Files.deleteIfExists(file);
+                    }
+                } catch (RuntimeException e) {
+                    // Not a partition file
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error cleaning attendance partitions: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Manifest entry of one month.
+     */
+    private static final class PartitionInfo {
+        final int rows;
+        final int[] employeeIds; // Sorted
+
+        PartitionInfo(int rows, int[] employeeIds) {
+            this.rows = rows;
+            this.employeeIds = employeeIds;
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package dataLoader;
+
+import models.TimeLogStore;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Zero-copy tokenizer for the attendance record TSV.
+ * The file is memory-mapped through a {@link FileChannel} and every row is parsed directly
+ * from the mapped bytes: the employee number, the MM/dd/yyyy date and the H:mm log times are
+ * decoded into primitives without allocating a String per field. Employee numbers become
+ * {@link TimeLogStore#idOf(String)} ids; only numbers that are not plain decimals are decoded. Name columns are only
+ * decoded when a caller asks for them, and dates or times that do not match the fixed
+ * layout fall back to {@link AttendanceDateParser}'s formatter path.
+ */
+public class AttendanceTsvTokenizer {
+
+    // Largest region mapped at once; bigger files are mapped window by window on line boundaries
+    private static final int MAX_WINDOW = Integer.MAX_VALUE - 8;
+
+    private static final byte TAB = '\t';
+    private static final byte LF = '\n';
+    private static final byte CR = '\r';
+
+    /**
+     * Receives each well-formed attendance row. The row object is reused between calls,
+     * so handlers must copy any values they want to keep.
+     */
+    @FunctionalInterface
+    public interface RowHandler {
+        void onRow(AttendanceRow row);
+    }
+
+    /**
+     * A parsed attendance row backed by the mapped file. Numeric columns are exposed as
+     * primitives; text columns are decoded into Strings only on request.
+     */
+    public static final class AttendanceRow {
+        private MappedByteBuffer buffer;
+        private int employeeNumberStart, employeeNumberEnd;
+        private int lastNameStart, lastNameEnd;
+        private int firstNameStart, firstNameEnd;
+        private int employeeId;
+        private int epochDay;
+        private int logInMinute, logOutMinute;
+
+        public int getEmployeeId() { return employeeId; }
+        public int getEpochDay() { return epochDay; }
+        public int getLogInMinute() { return logInMinute; }
+        public int getLogOutMinute() { return logOutMinute; }
+
+        public String employeeNumberText() { return decode(employeeNumberStart, employeeNumberEnd); }
+        public String lastName() { return decode(lastNameStart, lastNameEnd); }
+        public String firstName() { return decode(firstNameStart, firstNameEnd); }
+
+        private String decode(int start, int end) {
+            byte[] bytes = new byte[end - start];
+            buffer.get(start, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Scans the attendance file once, skipping the header row, and passes every
+     * well-formed row to the handler. Malformed rows are reported and skipped.
+     * @param filePath Path to the attendance record file (TSV).
+     * @param handler Callback invoked once per row.
+     * @return Number of rows passed to the handler.
+     * @throws IOException If the file cannot be opened or mapped.
+     */
+    public static long scan(String filePath, RowHandler handler) throws IOException {
+        long rows = 0;
+        AttendanceRow row = new AttendanceRow();
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            boolean headerSkipped = false;
+
+            while (position < size) {
+                int length = (int) Math.min(size - position, MAX_WINDOW);
+                boolean lastWindow = position + length == size;
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                row.buffer = buffer;
+
+                int lineStart = 0;
+                while (lineStart < length) {
+                    int lineEnd = indexOf(buffer, LF, lineStart, length);
+                    if (lineEnd < 0) {
+                        if (!lastWindow) break; // Partial line, re-map it with the next window
+                        lineEnd = length;
+                    }
+                    int contentEnd = lineEnd;
+                    if (contentEnd > lineStart && buffer.get(contentEnd - 1) == CR) contentEnd--;
+
+                    if (!headerSkipped) {
+                        headerSkipped = true;
+                    } else if (contentEnd > lineStart) {
+                        if (parseRow(buffer, lineStart, contentEnd, row)) {
+                            handler.onRow(row);
+                            rows++;
+                        } else {
+                            LoadTimeSheet.ERRORS.increment();
+                            System.err.println("[ERROR] Failed to parse line: " + decodeLine(buffer, lineStart, contentEnd));
+                        }
+                    }
+                    lineStart = lineEnd + 1;
+                }
+
+                if (lineStart == 0 && !lastWindow) {
+                    throw new IOException("Attendance row longer than " + MAX_WINDOW + " bytes at offset " + position);
+                }
+                position += Math.min(lineStart, length);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Parses one line into the reusable row.
+     * @return true if the line has at least six fields with a valid employee number, date and times.
+     */
+    private static boolean parseRow(MappedByteBuffer buffer, int start, int end, AttendanceRow row) {
+        int fieldStart = start;
+
+        // Field 0: employee number
+        int tab = indexOf(buffer, TAB, fieldStart, end);
+        if (tab < 0) return false;
+        row.employeeNumberStart = fieldStart;
+        row.employeeNumberEnd = tab;
+        if (fieldStart == tab) return false;
+        int employeeId = parseDigits(buffer, fieldStart, tab);
+        if (employeeId < 0 || (tab - fieldStart > 1 && buffer.get(fieldStart) == '0')) {
+            // Leading zeros, letters or a very long number: keyed by the text
+            employeeId = TimeLogStore.idOf(decodeLine(buffer, fieldStart, tab));
+        }
+        row.employeeId = employeeId;
+
+        // Field 1: last name
+        fieldStart = tab + 1;
+        tab = indexOf(buffer, TAB, fieldStart, end);
+        if (tab < 0) return false;
+        row.lastNameStart = fieldStart;
+        row.lastNameEnd = tab;
+
+        // Field 2: first name
+        fieldStart = tab + 1;
+        tab = indexOf(buffer, TAB, fieldStart, end);
+        if (tab < 0) return false;
+        row.firstNameStart = fieldStart;
+        row.firstNameEnd = tab;
+
+        // Field 3: date as MM/dd/yyyy
+        fieldStart = tab + 1;
+        tab = indexOf(buffer, TAB, fieldStart, end);
+        if (tab < 0) return false;
+        int epochDay = AttendanceDateParser.parseEpochDay(buffer, fieldStart, tab);
+        if (epochDay == AttendanceDateParser.INVALID) {
+            try {
+                epochDay = AttendanceDateParser.parseEpochDay(decodeLine(buffer, fieldStart, tab));
+            } catch (DateTimeParseException e) {
+                return false;
+            }
+        }
+        row.epochDay = epochDay;
+
+        // Field 4: log in as H:mm
+        fieldStart = tab + 1;
+        tab = indexOf(buffer, TAB, fieldStart, end);
+        if (tab < 0) return false;
+        int logIn = parseTime(buffer, fieldStart, tab);
+        if (logIn == AttendanceDateParser.INVALID) return false;
+        row.logInMinute = logIn;
+
+        // Field 5: log out as H:mm, possibly followed by extra columns
+        fieldStart = tab + 1;
+        tab = indexOf(buffer, TAB, fieldStart, end);
+        int logOut = parseTime(buffer, fieldStart, tab < 0 ? end : tab);
+        if (logOut == AttendanceDateParser.INVALID) return false;
+        row.logOutMinute = logOut;
+        return true;
+    }
+
+    // Parses H:mm through the fixed-layout fast path, falling back to the formatter on odd input
+    private static int parseTime(MappedByteBuffer buffer, int start, int end) {
+        int minute = AttendanceDateParser.parseMinuteOfDay(buffer, start, end);
+        if (minute != AttendanceDateParser.INVALID) return minute;
+        try {
+            return AttendanceDateParser.parseMinuteOfDay(decodeLine(buffer, start, end));
+        } catch (DateTimeParseException e) {
+            return AttendanceDateParser.INVALID;
+        }
+    }
+
+    // Parses an unsigned decimal number, or returns -1 if the range is empty, too long or not all digits
+    private static int parseDigits(MappedByteBuffer buffer, int start, int end) {
+        if (start >= end || end - start > 9) return -1;
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) return -1;
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static int indexOf(MappedByteBuffer buffer, byte value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (buffer.get(i) == value) return i;
+        }
+        return -1;
+    }
+
+    private static String decodeLine(MappedByteBuffer buffer, int start, int end) {
+        byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
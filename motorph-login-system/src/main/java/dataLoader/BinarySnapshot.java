@@ -0,0 +1,381 @@
+package dataLoader;
+
+import models.EmployeeProfile;
+import models.TimeLogStore;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * BinarySnapshot.java
+ * Versioned binary snapshots of the attendance and employee files, written next to each
+ * source file as "&lt;source&gt;.snapshot" so later starts skip text parsing.
+ *
+ * A snapshot is columnar: every distinct string (employee numbers, names, addresses,
+ * positions...) is stored once in a dictionary, text columns hold dictionary indexes,
+ * and numeric columns (epoch days, minutes of day, amounts) are stored as primitive
+ * arrays. It is read through a memory map, with the columns copied out in bulk.
+ *
+ * The header records the source file's size and last-modified time. A snapshot is only
+ * used while both still match the source, so it is always newer than the text it was
+ * built from; a stale, missing, damaged or older-version snapshot makes the loader parse
+ * the text file and write a fresh snapshot.
+ *
+ * Layout (big-endian): magic, format version, kind, source last-modified, source size,
+ * row count, dictionary (count, then length and UTF-8 bytes of each string), then the
+ * columns of the kind.
+ */
+public class BinarySnapshot {
+
+    public static final String SUFFIX = ".snapshot";
+
+    private static final int MAGIC = 0x4D505353; // "MPSS"
+    // 2: attendance employee ids from TimeLogStore.idOf, which keeps "01001" apart from "1001"
+    private static final int VERSION = 2;
+    private static final byte KIND_ATTENDANCE = 1;
+    private static final byte KIND_EMPLOYEES = 2;
+
+    private static final int EMPLOYEE_TEXT_COLUMNS = 13;
+    private static final int EMPLOYEE_AMOUNT_COLUMNS = 6;
+
+    /**
+     * Returns the snapshot path of a source file.
+     * @param sourcePath Path to the attendance or employee file.
+     */
+    public static Path snapshotPath(String sourcePath) {
+        return Paths.get(sourcePath + SUFFIX);
+    }
+
+    /**
+     * Returns the last-modified time and size of a file, or null if it cannot be read.
+     * Loaders take the stamp before parsing and pass it to the write methods, so a file
+     * changed while it was being parsed never gets a snapshot that claims to match it.
+     * @param filePath Path to the file.
+     * @return {last-modified millis, size in bytes}, or null.
+     */
+    public static long[] stamp(String filePath) {
+        try {
+            Path path = Paths.get(filePath);
+            return new long[] {Files.getLastModifiedTime(path).toMillis(), Files.size(path)};
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Reads the attendance snapshot of a source file.
+     * @param sourcePath Path to the attendance record file (TSV).
+     * @return The rows in source file order, or null if there is no up-to-date snapshot.
+     */
+    public static TimeLogStore readAttendance(String sourcePath) {
+        return readAttendance(snapshotPath(sourcePath), stamp(sourcePath));
+    }
+
+    /**
+     * Reads an attendance snapshot file whose header must carry the given stamp.
+     * @param file The snapshot file.
+     * @param expectedStamp The stamp recorded when the file was written.
+     * @return The rows, or null if the file is missing, damaged or has another stamp.
+     */
+    static TimeLogStore readAttendance(Path file, long[] expectedStamp) {
+        ByteBuffer buffer = map(file, expectedStamp, KIND_ATTENDANCE);
+        if (buffer == null) {
+            return null;
+        }
+        try {
+            int rows = buffer.getInt();
+            String[] dictionary = readDictionary(buffer);
+
+            int identities = buffer.getInt();
+            int[] identityIds = new int[identities];
+            int[] identityRefs = new int[identities * 3];
+            buffer.asIntBuffer().get(identityIds);
+            buffer.position(buffer.position() + identities * Integer.BYTES);
+            buffer.asIntBuffer().get(identityRefs);
+            buffer.position(buffer.position() + identityRefs.length * Integer.BYTES);
+
+            int[] employeeIds = new int[rows];
+            int[] epochDays = new int[rows];
+            short[] logIns = new short[rows];
+            short[] logOuts = new short[rows];
+            buffer.asIntBuffer().get(employeeIds);
+            buffer.position(buffer.position() + rows * Integer.BYTES);
+            buffer.asIntBuffer().get(epochDays);
+            buffer.position(buffer.position() + rows * Integer.BYTES);
+            buffer.asShortBuffer().get(logIns);
+            buffer.position(buffer.position() + rows * Short.BYTES);
+            buffer.asShortBuffer().get(logOuts);
+
+            TimeLogStore store = TimeLogStore.fromColumns(employeeIds, epochDays, logIns, logOuts, rows);
+            for (int i = 0; i < identities; i++) {
+                store.putIdentity(identityIds[i], dictionary[identityRefs[3 * i]],
+                        dictionary[identityRefs[3 * i + 1]], dictionary[identityRefs[3 * i + 2]]);
+            }
+            return store;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException
+                 | NegativeArraySizeException e) {
+            System.err.println("Ignoring damaged snapshot " + file + ": " + e);
+            return null;
+        }
+    }
+
+    /**
+     * Writes the attendance snapshot of a source file. Failures are reported and ignored;
+     * the next load simply parses the text again.
+     * @param sourcePath Path to the attendance record file (TSV).
+     * @param store The rows parsed from the file, in file order.
+     * @param sourceStamp The source file's {@link #stamp} taken before it was parsed.
+     */
+    public static void writeAttendance(String sourcePath, TimeLogStore store, long[] sourceStamp) {
+        if (stillMatches(sourcePath, sourceStamp)) {
+            writeAttendance(snapshotPath(sourcePath), store, sourceStamp);
+        }
+    }
+
+    /**
+     * Writes an attendance snapshot file with the given stamp in its header.
+     * Failures are reported.
+     * @param file The snapshot file to write.
+     * @param store The rows to store.
+     * @param stamp The stamp to record; {@link #readAttendance(Path, long[])} must be given the same.
+     * @return true if the file was written.
+     */
+    static boolean writeAttendance(Path file, TimeLogStore store, long[] stamp) {
+        int rows = store.size();
+        Dictionary dictionary = new Dictionary();
+        Map<Integer, Integer> identityIndex = new HashMap<>();
+        List<int[]> identities = new ArrayList<>();
+        for (int row = 0; row < rows; row++) {
+            int employeeId = store.employeeId(row);
+            if (!identityIndex.containsKey(employeeId)) {
+                identityIndex.put(employeeId, identities.size());
+                identities.add(new int[] {employeeId, dictionary.ref(store.employeeNumber(row)),
+                        dictionary.ref(store.lastName(row)), dictionary.ref(store.firstName(row))});
+            }
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(headerBytes() + Integer.BYTES + dictionary.bytes()
+                + Integer.BYTES + identities.size() * 4 * Integer.BYTES
+                + rows * (2 * Integer.BYTES + 2 * Short.BYTES));
+        writeHeader(buffer, KIND_ATTENDANCE, stamp);
+        buffer.putInt(rows);
+        dictionary.write(buffer);
+        buffer.putInt(identities.size());
+        for (int[] identity : identities) buffer.putInt(identity[0]);
+        for (int[] identity : identities) buffer.putInt(identity[1]).putInt(identity[2]).putInt(identity[3]);
+        for (int row = 0; row < rows; row++) buffer.putInt(store.employeeId(row));
+        for (int row = 0; row < rows; row++) buffer.putInt(store.epochDay(row));
+        for (int row = 0; row < rows; row++) buffer.putShort((short) store.logInMinute(row));
+        for (int row = 0; row < rows; row++) buffer.putShort((short) store.logOutMinute(row));
+        return write(file, buffer);
+    }
+
+    /**
+     * Reads the employee snapshot of a source file.
+     * @param sourcePath Path to the employee details file.
+     * @return The employees in source file order, or null if there is no up-to-date snapshot.
+     */
+    public static List<EmployeeProfile> readEmployees(String sourcePath) {
+        Path file = snapshotPath(sourcePath);
+        ByteBuffer buffer = map(file, stamp(sourcePath), KIND_EMPLOYEES);
+        if (buffer == null) {
+            return null;
+        }
+        try {
+            int rows = buffer.getInt();
+            String[] dictionary = readDictionary(buffer);
+
+            int[] text = new int[rows * EMPLOYEE_TEXT_COLUMNS];
+            double[] amounts = new double[rows * EMPLOYEE_AMOUNT_COLUMNS];
+            buffer.asIntBuffer().get(text);
+            buffer.position(buffer.position() + text.length * Integer.BYTES);
+            buffer.asDoubleBuffer().get(amounts);
+
+            List<EmployeeProfile> employees = new ArrayList<>(rows);
+            for (int row = 0; row < rows; row++) {
+                // Column-major: column c of row r is at c * rows + r
+                employees.add(new EmployeeProfile(
+                        dictionary[text[row]],
+                        dictionary[text[rows + row]],
+                        dictionary[text[2 * rows + row]],
+                        dictionary[text[3 * rows + row]],
+                        dictionary[text[4 * rows + row]],
+                        dictionary[text[5 * rows + row]],
+                        dictionary[text[6 * rows + row]],
+                        dictionary[text[7 * rows + row]],
+                        dictionary[text[8 * rows + row]],
+                        dictionary[text[9 * rows + row]],
+                        dictionary[text[10 * rows + row]],
+                        dictionary[text[11 * rows + row]],
+                        dictionary[text[12 * rows + row]],
+                        amounts[row],
+                        amounts[rows + row],
+                        amounts[2 * rows + row],
+                        amounts[3 * rows + row],
+                        amounts[4 * rows + row],
+                        amounts[5 * rows + row]));
+            }
+            return employees;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException
+                 | NegativeArraySizeException e) {
+            System.err.println("Ignoring damaged snapshot " + file + ": " + e);
+            return null;
+        }
+    }
+
+    /**
+     * Writes the employee snapshot of a source file. Failures are reported and ignored.
+     * @param sourcePath Path to the employee details file.
+     * @param employees The employees parsed from the file, in file order.
+     * @param sourceStamp The source file's {@link #stamp} taken before it was parsed.
+     */
+    public static void writeEmployees(String sourcePath, List<EmployeeProfile> employees, long[] sourceStamp) {
+        if (!stillMatches(sourcePath, sourceStamp)) {
+            return;
+        }
+        int rows = employees.size();
+        Dictionary dictionary = new Dictionary();
+        int[] text = new int[rows * EMPLOYEE_TEXT_COLUMNS];
+        for (int row = 0; row < rows; row++) {
+            EmployeeProfile employee = employees.get(row);
+            text[row] = dictionary.ref(employee.getEmployeeNumber());
+            text[rows + row] = dictionary.ref(employee.getLastName());
+            text[2 * rows + row] = dictionary.ref(employee.getFirstName());
+            text[3 * rows + row] = dictionary.ref(employee.getBirthday());
+            text[4 * rows + row] = dictionary.ref(employee.getAddress());
+            text[5 * rows + row] = dictionary.ref(employee.getPhoneNumber());
+            text[6 * rows + row] = dictionary.ref(employee.getSssNumber());
+            text[7 * rows + row] = dictionary.ref(employee.getPhilhealthNumber());
+            text[8 * rows + row] = dictionary.ref(employee.getTinNumber());
+            text[9 * rows + row] = dictionary.ref(employee.getPagibigNumber());
+            text[10 * rows + row] = dictionary.ref(employee.getStatus());
+            text[11 * rows + row] = dictionary.ref(employee.getPosition());
+            text[12 * rows + row] = dictionary.ref(employee.getImmediateSupervisor());
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(headerBytes() + Integer.BYTES + dictionary.bytes()
+                + text.length * Integer.BYTES + rows * EMPLOYEE_AMOUNT_COLUMNS * Double.BYTES);
+        writeHeader(buffer, KIND_EMPLOYEES, sourceStamp);
+        buffer.putInt(rows);
+        dictionary.write(buffer);
+        for (int ref : text) buffer.putInt(ref);
+        for (EmployeeProfile employee : employees) buffer.putDouble(employee.getBasicSalary());
+        for (EmployeeProfile employee : employees) buffer.putDouble(employee.getRiceSubsidy());
+        for (EmployeeProfile employee : employees) buffer.putDouble(employee.getPhoneAllowance());
+        for (EmployeeProfile employee : employees) buffer.putDouble(employee.getClothingAllowance());
+        for (EmployeeProfile employee : employees) buffer.putDouble(employee.getGrossSemiMonthlyRate());
+        for (EmployeeProfile employee : employees) buffer.putDouble(employee.getHourlyRate());
+        write(snapshotPath(sourcePath), buffer);
+    }
+
+    // Maps a snapshot of the given kind and stamp and positions the buffer after the header
+    private static ByteBuffer map(Path snapshot, long[] sourceStamp, byte kind) {
+        if (sourceStamp == null || !Files.isRegularFile(snapshot)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            if (channel.size() < headerBytes()) {
+                return null;
+            }
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION || buffer.get() != kind) {
+                return null;
+            }
+            if (buffer.getLong() != sourceStamp[0] || buffer.getLong() != sourceStamp[1]) {
+                return null; // Source changed since the snapshot was written
+            }
+            return buffer;
+        } catch (IOException e) {
+            System.err.println("Error reading snapshot " + snapshot + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static String[] readDictionary(ByteBuffer buffer) {
+        int count = buffer.getInt();
+        if (count < 0) {
+            throw new IllegalArgumentException("Negative dictionary size " + count);
+        }
+        String[] strings = new String[count];
+        byte[] scratch = new byte[256];
+        for (int i = 0; i < count; i++) {
+            int length = buffer.getInt();
+            if (length > scratch.length) scratch = new byte[Math.max(length, scratch.length * 2)];
+            buffer.get(scratch, 0, length);
+            strings[i] = new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+        return strings;
+    }
+
+    private static int headerBytes() {
+        return 2 * Integer.BYTES + 1 + 2 * Long.BYTES;
+    }
+
+    private static void writeHeader(ByteBuffer buffer, byte kind, long[] sourceStamp) {
+        buffer.putInt(MAGIC).putInt(VERSION).put(kind).putLong(sourceStamp[0]).putLong(sourceStamp[1]);
+    }
+
+    private static boolean stillMatches(String sourcePath, long[] sourceStamp) {
+        long[] current = stamp(sourcePath);
+        return sourceStamp != null && current != null
+                && current[0] == sourceStamp[0] && current[1] == sourceStamp[1];
+    }
+
+    // Replaces the snapshot atomically, so readers never map a partial one
+    private static boolean write(Path file, ByteBuffer buffer) {
+        buffer.flip();
+        try {
+            AtomicFile.write(file, buffer);
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error writing snapshot " + file.toAbsolutePath() + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Assigns each distinct string an index in first-seen order.
+     */
+    private static final class Dictionary {
+        private final Map<String, Integer> refs = new HashMap<>();
+        private final List<byte[]> encoded = new ArrayList<>();
+        private int bytes;
+
+        int ref(String value) {
+            String key = value == null ? "null" : value;
+            Integer ref = refs.get(key);
+            if (ref == null) {
+                ref = encoded.size();
+                refs.put(key, ref);
+                byte[] utf8 = key.getBytes(StandardCharsets.UTF_8);
+                encoded.add(utf8);
+                bytes += Integer.BYTES + utf8.length;
+            }
+            return ref;
+        }
+
+        int bytes() {
+            return Integer.BYTES + bytes;
+        }
+
+        void write(ByteBuffer buffer) {
+            buffer.putInt(encoded.size());
+            for (byte[] utf8 : encoded) {
+                buffer.putInt(utf8.length).put(utf8);
+            }
+        }
+    }
+}
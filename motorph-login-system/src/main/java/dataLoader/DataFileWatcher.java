@@ -0,0 +1,379 @@
+package dataLoader;
+
+import models.EmployeeProfile;
+import models.TimeLogStore;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * DataFileWatcher.java
+ * Watches the attendance and employee files with a {@link WatchService} and picks up
+ * rows appended by other programs, such as the time-clock exporter, without reloading
+ * the whole file. For each file the watcher remembers how many bytes it has consumed
+ * and a signature of the last bytes; a change that keeps those bytes intact is treated
+ * as an append and only the new bytes are read and parsed. Any other change (truncation,
+ * in-place edit, rewrite) is reported as a rewrite so listeners can fall back to a full
+ * reload.
+ *
+ * Appended attendance rows are merged straight into the cached {@link AttendanceIndex} and
+ * the {@link AttendancePartitions} of their months; appended employees are handed to listeners. Listeners are called on the watcher thread.
+ */
+public class DataFileWatcher implements Closeable {
+
+    /**
+     * Receives changes detected in the watched files. Called on the watcher thread.
+     */
+    public interface Listener {
+        default void attendanceAppended(int rowCount) { }
+        default void attendanceRewritten() { }
+        default void employeesAppended(List<EmployeeProfile> employees) { }
+        default void employeesRewritten() { }
+    }
+
+    private enum Kind { ATTENDANCE, EMPLOYEES }
+
+    // Bytes before the consumed offset that must be unchanged for a change to count as an append
+    private static final int SIGNATURE_BYTES = 64;
+
+    private final WatchService watchService;
+    private final Map<Path, TrackedFile> files = new HashMap<>();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final Thread thread;
+
+    /**
+     * Creates a watcher for the attendance and employee files. Call {@link #start()} to
+     * begin watching and {@link #close()} to stop.
+     * @param attendanceFile Path to the attendance record file (TSV).
+     * @param employeeFile Path to the employee details file.
+     * @throws IOException If the watch service cannot be created or a directory cannot be registered.
+     */
+    public DataFileWatcher(String attendanceFile, String employeeFile) throws IOException {
+        watchService = FileSystems.getDefault().newWatchService();
+        track(attendanceFile, Kind.ATTENDANCE);
+        track(employeeFile, Kind.EMPLOYEES);
+
+        Set<Path> directories = new HashSet<>();
+        for (Path path : files.keySet()) {
+            directories.add(path.getParent());
+        }
+        for (Path directory : directories) {
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+        }
+
+        thread = new Thread(this::watchLoop, "data-file-watcher");
+        thread.setDaemon(true);
+    }
+
+    public void addListener(Listener listener) { listeners.add(listener); }
+    public void removeListener(Listener listener) { listeners.remove(listener); }
+
+    public void start() {
+        thread.start();
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+
+    /**
+     * Announces that this program is about to write a watched file itself. Until the write is
+     * {@link #acknowledge(String) acknowledged}, changes to the file are not reported.
+     * @param filePath Path of the file that will be written.
+     */
+    public synchronized void expectWrite(String filePath) {
+        TrackedFile file = files.get(normalize(filePath));
+        if (file != null) {
+            file.writing = true;
+        }
+    }
+
+    /**
+     * Re-synchronizes with a file this program has just written itself, so the write is
+     * not reported back as an external change.
+     * @param filePath Path of the file that was written.
+     */
+    public synchronized void acknowledge(String filePath) {
+        TrackedFile file = files.get(normalize(filePath));
+        if (file != null) {
+            file.writing = false;
+            file.resync();
+        }
+    }
+
+    /**
+     * Checks a watched file for changes immediately instead of waiting for the watch service.
+     * @param filePath Path of the watched file.
+     */
+    public synchronized void poll(String filePath) {
+        TrackedFile file = files.get(normalize(filePath));
+        if (file != null) {
+            file.check();
+        }
+    }
+
+    private void track(String filePath, Kind kind) {
+        Path path = normalize(filePath);
+        TrackedFile file = new TrackedFile(filePath, path, kind);
+        file.resync();
+        files.put(path, file);
+    }
+
+    private static Path normalize(String filePath) {
+        return Paths.get(filePath).toAbsolutePath().normalize();
+    }
+
+    private void watchLoop() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                Path directory = (Path) key.watchable();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    synchronized (this) {
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                            for (TrackedFile file : files.values()) file.check();
+                        } else {
+                            TrackedFile file = files.get(directory.resolve((Path) event.context()).normalize());
+                            if (file != null) file.check();
+                        }
+                    }
+                }
+                key.reset();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // Closed by close()
+        }
+    }
+
+    /**
+     * Consumption state of one watched file.
+     */
+    private final class TrackedFile {
+        private final String filePath;
+        private final Path path;
+        private final Kind kind;
+        private long consumed;          // Bytes read and applied so far
+        private long lastModified;
+        private byte[] signature = new byte[0];
+        private boolean openLine;       // The consumed bytes end with a line that has no line break yet
+        private int nextLineNumber;     // Line number of the next appended row, for error messages
+        private boolean writing;        // This program is writing the file (see expectWrite)
+
+        TrackedFile(String filePath, Path path, Kind kind) {
+            this.filePath = filePath;
+            this.path = path;
+            this.kind = kind;
+        }
+
+        // Treats the file's current content as already loaded
+        void resync() {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                long size = channel.size();
+                lastModified = Files.getLastModifiedTime(path).toMillis();
+                signature = readRange(channel, Math.max(0, size - SIGNATURE_BYTES), size);
+                consumed = size;
+                openLine = signature.length > 0 && signature[signature.length - 1] != '\n';
+                // Counting lines means reading the file, so only the small employee file is counted
+                nextLineNumber = kind == Kind.EMPLOYEES ? countLines(channel, size) + (openLine ? 2 : 1) : 0;
+            } catch (IOException e) {
+                System.err.println("Error reading " + filePath + ": " + e.getMessage());
+                consumed = 0;
+                lastModified = -1;
+                signature = new byte[0];
+                openLine = false;
+            }
+        }
+
+        void check() {
+            if (writing) {
+                resync(); // Our own write, whichever state the watch event caught it in
+                return;
+            }
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                long size = channel.size();
+                long modified = Files.getLastModifiedTime(path).toMillis();
+                if (size == consumed && modified == lastModified) {
+                    return; // Nothing new
+                }
+                if (size <= consumed) {
+                    rewritten(); // Truncated, or edited in place without growing
+                    return;
+                }
+
+                long signatureStart = consumed - signature.length;
+                byte[] bytes = readRange(channel, signatureStart, size);
+                if (!Arrays.equals(bytes, 0, signature.length, signature, 0, signature.length)) {
+                    rewritten();
+                    return;
+                }
+
+                int start = signature.length;
+                if (openLine) {
+                    // The last loaded line must be closed by the append, not extended by it
+                    if (bytes[start] == '\r') start++;
+                    if (start >= bytes.length || bytes[start] != '\n') {
+                        rewritten();
+                        return;
+                    }
+                    start++;
+                }
+
+                List<String> lines = new ArrayList<>();
+                int lineStart = start;
+                int applied = start;
+                for (int i = start; i < bytes.length; i++) {
+                    if (bytes[i] == '\n') {
+                        addLine(bytes, lineStart, i, lines);
+                        lineStart = i + 1;
+                        applied = lineStart;
+                    }
+                }
+                boolean trailingOpen = false;
+                if (lineStart < bytes.length && isCompleteRow(bytes, lineStart, bytes.length)) {
+                    // Appenders that write "\n" + row leave the last row without a line break
+                    addLine(bytes, lineStart, bytes.length, lines);
+                    applied = bytes.length;
+                    trailingOpen = true;
+                }
+
+                long previous = consumed;
+                consumed = signatureStart + applied;
+                lastModified = modified;
+                openLine = trailingOpen;
+                int keep = (int) Math.min(SIGNATURE_BYTES, consumed);
+                signature = Arrays.copyOfRange(bytes, applied - keep, applied);
+
+                if (!lines.isEmpty() || kind == Kind.ATTENDANCE) {
+                    // If part of a row is still being written, the index stamp will not match
+                    // the file and the next lookup reloads it in full
+                    appended(previous, lines, modified, consumed);
+                }
+            } catch (IOException e) {
+                System.err.println("Error reading appended data from " + filePath + ": " + e.getMessage());
+            }
+        }
+
+        private void appended(long previousSize, List<String> lines, long modified, long size) {
+            if (kind == Kind.ATTENDANCE) {
+                TimeLogStore rows = LoadTimeSheet.parseStore(lines);
+                AttendanceIndex.applyAppend(filePath, previousSize, rows, modified, size);
+                AttendancePartitions.applyAppend(filePath, previousSize, rows, modified, size);
+                if (rows.size() > 0) {
+                    for (Listener listener : listeners) listener.attendanceAppended(rows.size());
+                }
+            } else {
+                List<EmployeeProfile> employees = new ArrayList<>(lines.size());
+                for (String line : lines) {
+                    EmployeeProfile employee = LoadEmployeeData.parseLine(line, nextLineNumber++);
+                    if (employee != null) employees.add(employee);
+                }
+                if (!employees.isEmpty()) {
+                    for (Listener listener : listeners) listener.employeesAppended(employees);
+                }
+            }
+        }
+
+        private void rewritten() {
+            resync();
+            for (Listener listener : listeners) {
+                if (kind == Kind.ATTENDANCE) {
+                    listener.attendanceRewritten();
+                } else {
+                    listener.employeesRewritten();
+                }
+            }
+        }
+
+        // A trailing line without a line break is only taken once it has every field and its last
+        // field cannot be the start of a longer value: a log-out time with both minute digits
+        // (H:mm), or an hourly rate with both decimals, as the master file writes it
+        private boolean isCompleteRow(byte[] bytes, int start, int end) {
+            int tabs = 0;
+            int lastField = start;
+            for (int i = start; i < end; i++) {
+                if (bytes[i] == '\t') {
+                    tabs++;
+                    lastField = i + 1;
+                }
+            }
+            int fields = tabs + 1;
+            if (end > lastField && bytes[end - 1] == '\r') end--;
+            return kind == Kind.ATTENDANCE
+                    ? fields >= 6 && endsWithDigits(bytes, lastField, end, ':', 2)
+                    : fields >= 19 && endsWithDigits(bytes, lastField, end, '.', Integer.MAX_VALUE);
+        }
+
+        // Whether bytes[start, end) is 1 to maxLead digits, the separator and exactly two digits
+        private boolean endsWithDigits(byte[] bytes, int start, int end, char separator, int maxLead) {
+            int lead = end - start - 3;
+            if (lead < 1 || lead > maxLead || bytes[end - 3] != separator) {
+                return false;
+            }
+            for (int i = start; i < end; i++) {
+                if (i != end - 3 && !Character.isDigit(bytes[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void addLine(byte[] bytes, int start, int end, List<String> lines) {
+            if (end > start && bytes[end - 1] == '\r') end--;
+            if (end > start) {
+                lines.add(new String(bytes, start, end - start, StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    private static int countLines(FileChannel channel, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        int lines = 0;
+        long position = 0;
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read < 0) break;
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') lines++;
+            }
+            position += read;
+        }
+        return lines;
+    }
+
+    private static byte[] readRange(FileChannel channel, long from, long to) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) (to - from));
+        long position = from;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) break;
+            position += read;
+        }
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+}
@@ -0,0 +1,605 @@
+package dataLoader;
+
+import metrics.Counter;
+import metrics.EmployeeMasterSaveEvent;
+import metrics.Metrics;
+import metrics.Timer;
+import models.EmployeeProfile;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.zip.CRC32;
+
+/**
+ * EmployeeMasterFile.java
+ * Persistence of the employee details file through an append-only change log.
+ *
+ * Adding, editing or deleting an employee appends one entry to a change log next to the
+ * master file ("Employee Details.csv.journal") and forces it to disk, so the cost of a
+ * save depends on the size of the change, not of the table. Each entry has a sequence
+ * number, the operation, a CRC32 of its payload and the payload itself (the employee row,
+ * or the employee number for a deletion); an entry torn by a crash is recognized by its
+ * missing line break or wrong checksum and ignored.
+ *
+ * Readers get the master file with the log replayed on top of it. Once the log holds
+ * {@value #COMPACT_THRESHOLD} changes it is compacted in the background: the replayed
+ * rows are written to a temporary file in the same directory through a {@link TsvWriter},
+ * forced to disk and renamed over the master file atomically, after which the compacted
+ * entries are cut from the log. Replaying an entry twice has no further effect, so a crash
+ * at any point of a compaction loses nothing. Rows that repeat an employee number are kept
+ * where they are; an edit applies to the first row with the number, a deletion to all of
+ * them.
+ *
+ * There is one instance per file (see {@link #forFile(String)}), so every window of this
+ * program appends through the same log. Other programs on the same files (a second copy
+ * of the application, the payroll command line) are kept out by an exclusive lock on a
+ * sibling lock file ("Employee Details.csv.lock"), held while the log is read or appended
+ * to and for the whole of a compaction.
+ */
+public class EmployeeMasterFile {
+
+    public static final String HEADER = "Employee Number\tLast Name\tFirst Name\tBirthday\tAddress\tPhone Number\t" +
+            "SSS Number\tPhilHealth Number\tTIN Number\tPag-IBIG Number\tStatus\tPosition\t" +
+            "Immediate Supervisor\tBasic Salary\tRice Subsidy\tPhone Allowance\t" +
+            "Clothing Allowance\tGross Semi-monthly Rate\tHourly Rate";
+
+    static final String LOG_SUFFIX = ".journal";
+    static final String LOCK_SUFFIX = ".lock";
+
+    // Number of logged changes that triggers a background compaction
+    static final int COMPACT_THRESHOLD = 64;
+
+    // The master file is UTF-8 regardless of the platform charset
+    static final Charset MASTER_CHARSET = StandardCharsets.UTF_8;
+
+    private static final Timer APPEND_TIMER = Metrics.timer("master.append");
+    private static final Timer SAVE_TIMER = Metrics.timer("master.save");
+    private static final Timer COMPACT_TIMER = Metrics.timer("master.compact");
+    private static final Counter ERRORS = Metrics.counter("master.errors");
+
+    // One instance per master file, so appends and compactions are coordinated
+    private static final Map<Path, EmployeeMasterFile> FILES = new HashMap<>();
+
+    private static final ExecutorService COMPACTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "employee-log-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Kind of change-log entry. A checkpoint only carries the sequence number of the
+     * last compacted change.
+     */
+    public enum Operation { INSERT, UPDATE, DELETE, CHECKPOINT }
+
+    /**
+     * Is told when a compaction replaces the master file. Both calls are made on the compaction
+     * thread while the files are locked, the second one even if the master could not be written.
+     */
+    public interface CompactionListener {
+        default void masterRewriting() { }
+        void masterRewritten();
+    }
+
+    private final Path path;
+    private final Path logPath;
+    private final Path lockPath;
+    // Held with the lock file while the log or the master file is read or replaced; reentrant,
+    // because a compaction rewrites the master while holding it
+    private final ReentrantLock fileLock = new ReentrantLock();
+    private FileChannel lockChannel;
+    private final AtomicBoolean compactionQueued = new AtomicBoolean();
+    private final List<CompactionListener> compactionListeners = new CopyOnWriteArrayList<>();
+    private long nextSequence = 1;
+    private volatile int pendingChanges;
+    // File key and size of the log when this program last read or wrote it
+    private List<Object> knownLogState;
+
+    private EmployeeMasterFile(Path path) {
+        this.path = path;
+        this.logPath = Paths.get(path + LOG_SUFFIX);
+        this.lockPath = Paths.get(path + LOCK_SUFFIX);
+        try {
+            locked(() -> {
+                catchUpWithLog();
+                return null;
+            });
+        } catch (IOException e) {
+            ERRORS.increment();
+            System.err.println("Error reading employee change log: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the persistence handle for an employee details file, creating it on first use.
+     * @param filePath Path to the employee details file.
+     */
+    public static synchronized EmployeeMasterFile forFile(String filePath) {
+        Path path = Paths.get(filePath).toAbsolutePath().normalize();
+        return FILES.computeIfAbsent(path, EmployeeMasterFile::new);
+    }
+
+    public Path getPath() { return path; }
+    public Path getLogPath() { return logPath; }
+    public int getPendingChanges() { return pendingChanges; }
+
+    /**
+     * Registers a listener told before and after a compaction replaces the master file.
+     * @param listener The listener.
+     */
+    public void addCompactionListener(CompactionListener listener) { compactionListeners.add(listener); }
+    public void removeCompactionListener(CompactionListener listener) { compactionListeners.remove(listener); }
+
+    /**
+     * Records a new employee.
+     * @param employee The new employee.
+     * @throws IOException If the change log cannot be written.
+     */
+    public void recordInsert(EmployeeProfile employee) throws IOException {
+        append(Operation.INSERT, employee.getEmployeeNumber(), formatRow(employee));
+    }
+
+    /**
+     * Records an edited employee, replacing the record with the same employee number.
+     * @param employee The edited employee.
+     * @throws IOException If the change log cannot be written.
+     */
+    public void recordUpdate(EmployeeProfile employee) throws IOException {
+        append(Operation.UPDATE, employee.getEmployeeNumber(), formatRow(employee));
+    }
+
+    /**
+     * Records the deletion of an employee.
+     * @param employeeNumber Number of the deleted employee.
+     * @throws IOException If the change log cannot be written.
+     */
+    public void recordDelete(String employeeNumber) throws IOException {
+        append(Operation.DELETE, employeeNumber, employeeNumber);
+    }
+
+    /**
+     * Reads the current employees: the master file with the change log replayed on top.
+     * Without logged changes the master file is streamed straight to the consumer.
+     * @param consumer Receives each employee in file order.
+     * @param progress Receives the approximate number of master file bytes read.
+     */
+    public void read(Consumer<EmployeeProfile> consumer, LongConsumer progress) {
+        int logged = lockedReading(() -> {
+            List<Change> changes;
+            try {
+                changes = readLog().changes;
+            } catch (IOException e) {
+                ERRORS.increment();
+                System.err.println("I/O Error reading employee change log: " + e.getMessage());
+                changes = new ArrayList<>();
+            }
+            if (changes.isEmpty()) {
+                LoadEmployeeData.parseFile(path.toString(), consumer, progress);
+                return 0;
+            }
+
+            Map<Object, EmployeeProfile> employees = readMaster(progress);
+            replay(employees, changes);
+            employees.values().forEach(consumer);
+            return changes.size();
+        });
+        if (logged >= COMPACT_THRESHOLD) {
+            compactInBackground();
+        }
+    }
+
+    /**
+     * Schedules a compaction on the background compaction thread, unless one is already queued.
+     */
+    public void compactInBackground() {
+        if (!compactionQueued.compareAndSet(false, true)) {
+            return;
+        }
+        COMPACTOR.execute(() -> {
+            compactionQueued.set(false);
+            try {
+                compact();
+            } catch (IOException e) {
+                ERRORS.increment();
+                System.err.println("Error compacting employee change log: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Folds the logged changes into the master file and replaces the log with a checkpoint.
+     * Appends, in this program or another, wait until the compaction is finished.
+     * @return The number of changes folded into the master file.
+     * @throws IOException If the log or the master file cannot be read or written.
+     */
+    public int compact() throws IOException {
+        long start = COMPACT_TIMER.start();
+        int compacted = locked(() -> {
+            LogSnapshot log = readLog();
+            if (log.changes.isEmpty()) {
+                return 0;
+            }
+
+            Map<Object, EmployeeProfile> employees = readMaster(bytesRead -> { });
+            replay(employees, log.changes);
+            for (CompactionListener listener : compactionListeners) {
+                listener.masterRewriting();
+            }
+            try {
+                writeAtomically(employees.values());
+            } finally {
+                for (CompactionListener listener : compactionListeners) {
+                    listener.masterRewritten();
+                }
+            }
+
+            replaceLog(entry(log.lastSequence, Operation.CHECKPOINT, ""));
+            nextSequence = Math.max(nextSequence, log.lastSequence + 1);
+            pendingChanges = 0;
+            knownLogState = logState();
+            return log.changes.size();
+        });
+        if (compacted == 0) {
+            return 0;
+        }
+        COMPACT_TIMER.stop(start);
+        return compacted;
+    }
+
+    /**
+     * Replaces the master file with the given employees. Logged changes not contained in
+     * the employees are still replayed on the next read.
+     * @param employees Every employee, in file order.
+     * @throws IOException If the master file cannot be written.
+     */
+    public void writeAtomically(Collection<EmployeeProfile> employees) throws IOException {
+        EmployeeMasterSaveEvent event = new EmployeeMasterSaveEvent();
+        event.begin();
+        long start = SAVE_TIMER.start();
+        try {
+            locked(() -> {
+                AtomicFile.write(path, true, channel -> {
+                    TsvWriter writer = new TsvWriter(channel);
+                    writer.line(HEADER);
+                    for (EmployeeProfile employee : employees) {
+                        writeRow(writer, employee);
+                    }
+                    writer.flush();
+                });
+                return null;
+            });
+        } catch (IOException e) {
+            ERRORS.increment();
+            throw e;
+        }
+        SAVE_TIMER.stop(start);
+        event.file = path.toString();
+        event.operation = "REWRITE";
+        event.employeeNumber = "";
+        event.rows = employees.size();
+        event.commit();
+    }
+
+    /**
+     * Formats an employee as one row of the master file.
+     * @param employee The employee.
+     * @return The tab-separated row without a line break.
+     */
+    public static String formatRow(EmployeeProfile employee) {
+        StringBuilder row = new StringBuilder(256)
+                .append(employee.getEmployeeNumber()).append('\t')
+                .append(employee.getLastName()).append('\t')
+                .append(employee.getFirstName()).append('\t')
+                .append(employee.getBirthday()).append('\t')
+                .append(employee.getAddress()).append('\t')
+                .append(employee.getPhoneNumber()).append('\t')
+                .append(employee.getSssNumber()).append('\t')
+                .append(employee.getPhilhealthNumber()).append('\t')
+                .append(employee.getTinNumber()).append('\t')
+                .append(employee.getPagibigNumber()).append('\t')
+                .append(employee.getStatus()).append('\t')
+                .append(employee.getPosition()).append('\t')
+                .append(employee.getImmediateSupervisor()).append('\t');
+        TsvWriter.appendFixed2(row, employee.getBasicSalary()).append('\t');
+        TsvWriter.appendFixed2(row, employee.getRiceSubsidy()).append('\t');
+        TsvWriter.appendFixed2(row, employee.getPhoneAllowance()).append('\t');
+        TsvWriter.appendFixed2(row, employee.getClothingAllowance()).append('\t');
+        TsvWriter.appendFixed2(row, employee.getGrossSemiMonthlyRate()).append('\t');
+        TsvWriter.appendFixed2(row, employee.getHourlyRate());
+        return row.toString();
+    }
+
+    /**
+     * Writes an employee as one row of the master file.
+     * @param writer The writer, positioned at the start of a row.
+     * @param employee The employee.
+     * @throws IOException If the row cannot be written.
+     */
+    public static void writeRow(TsvWriter writer, EmployeeProfile employee) throws IOException {
+        writer.field(employee.getEmployeeNumber())
+              .field(employee.getLastName())
+              .field(employee.getFirstName())
+              .field(employee.getBirthday())
+              .field(employee.getAddress())
+              .field(employee.getPhoneNumber())
+              .field(employee.getSssNumber())
+              .field(employee.getPhilhealthNumber())
+              .field(employee.getTinNumber())
+              .field(employee.getPagibigNumber())
+              .field(employee.getStatus())
+              .field(employee.getPosition())
+              .field(employee.getImmediateSupervisor())
+              .fixed2(employee.getBasicSalary())
+              .fixed2(employee.getRiceSubsidy())
+              .fixed2(employee.getPhoneAllowance())
+              .fixed2(employee.getClothingAllowance())
+              .fixed2(employee.getGrossSemiMonthlyRate())
+              .fixed2(employee.getHourlyRate())
+              .endRow();
+    }
+
+    private void append(Operation operation, String employeeNumber, String payload) throws IOException {
+        EmployeeMasterSaveEvent event = new EmployeeMasterSaveEvent();
+        event.begin();
+        long start = APPEND_TIMER.start();
+        int pending;
+        try {
+            pending = locked(() -> {
+                catchUpWithLog();
+                ByteBuffer buffer = ByteBuffer.wrap(entry(nextSequence, operation, payload));
+                try (FileChannel channel = FileChannel.open(logPath, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                    channel.force(false);
+                }
+                knownLogState = logState();
+                nextSequence++;
+                return ++pendingChanges;
+            });
+        } catch (IOException e) {
+            ERRORS.increment();
+            throw e;
+        } finally {
+            APPEND_TIMER.stop(start);
+        }
+        // Only changes that reached the log are recorded
+        event.file = path.toString();
+        event.operation = operation.name();
+        event.employeeNumber = employeeNumber;
+        event.rows = 1;
+        event.commit();
+        if (pending >= COMPACT_THRESHOLD) {
+            compactInBackground();
+        }
+    }
+
+    /**
+     * Work done while holding the lock on the log.
+     */
+    private interface LockedAction<T> {
+        T run() throws IOException;
+    }
+
+    // Runs the action holding the in-process lock and, on the outermost call, the lock file
+    private <T> T locked(LockedAction<T> action) throws IOException {
+        fileLock.lock();
+        try {
+            if (fileLock.getHoldCount() == 1) {
+                lockChannel = FileChannel.open(lockPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                try {
+                    lockChannel.lock();
+                } catch (IOException e) {
+                    releaseLockFile();
+                    throw e;
+                }
+            }
+            try {
+                return action.run();
+            } finally {
+                if (fileLock.getHoldCount() == 1) {
+                    releaseLockFile();
+                }
+            }
+        } finally {
+            fileLock.unlock();
+        }
+    }
+
+    // Closing the channel releases the lock; the lock file itself stays
+    private void releaseLockFile() {
+        try {
+            lockChannel.close();
+        } catch (IOException e) {
+            // The lock goes with the channel either way
+        }
+        lockChannel = null;
+    }
+
+    // Reading must not fail because the lock file cannot be created, e.g. in a read-only directory
+    private int lockedReading(LockedAction<Integer> action) {
+        try {
+            return locked(action);
+        } catch (IOException e) {
+            System.err.println("Reading employee details without locking " + lockPath + ": " + e.getMessage());
+        }
+        fileLock.lock();
+        try {
+            return action.run();
+        } catch (IOException e) {
+            // The read action reports its own errors
+            return 0;
+        } finally {
+            fileLock.unlock();
+        }
+    }
+
+    // Another program may have appended to or compacted the log since this one last saw it
+    private void catchUpWithLog() throws IOException {
+        if (logState().equals(knownLogState)) {
+            return;
+        }
+        LogSnapshot log = readLog();
+        nextSequence = Math.max(nextSequence, log.lastSequence + 1);
+        pendingChanges = log.changes.size();
+        dropTornEntry(log.length);
+        knownLogState = logState();
+    }
+
+    private List<Object> logState() throws IOException {
+        if (!Files.exists(logPath)) {
+            return List.of();
+        }
+        BasicFileAttributes attributes = Files.readAttributes(logPath, BasicFileAttributes.class);
+        return Arrays.asList(attributes.fileKey(), attributes.size());
+    }
+
+    // Log line: sequence \t operation \t crc32(payload) \t payload \n
+    private static byte[] entry(long sequence, Operation operation, String payload) {
+        String line = sequence + "\t" + operation + "\t" + Long.toHexString(checksum(payload)) + "\t" + payload + "\n";
+        return line.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static long checksum(String payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload.getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+
+    // Master rows in file order keyed by employee number; a row repeating a number is reported
+    // and kept under a key of its own, so a compaction does not drop it
+    private Map<Object, EmployeeProfile> readMaster(LongConsumer progress) {
+        Map<Object, EmployeeProfile> employees = new LinkedHashMap<>();
+        LoadEmployeeData.parseFile(path.toString(), employee -> {
+            if (employees.putIfAbsent(employee.getEmployeeNumber(), employee) != null) {
+                System.err.println("Duplicate employee number " + employee.getEmployeeNumber()
+                        + " in " + path.getFileName() + "; edits apply to its first row");
+                employees.put(new Object(), employee);
+            }
+        }, progress);
+        return employees;
+    }
+
+    // Applies logged changes in sequence order; an edited employee keeps its position. A deletion
+    // also removes rows repeating the number, so replaying it again after a crash changes nothing
+    private static void replay(Map<Object, EmployeeProfile> employees, List<Change> changes) {
+        for (Change change : changes) {
+            if (change.operation == Operation.DELETE) {
+                employees.values().removeIf(employee -> employee.getEmployeeNumber().equals(change.payload));
+            } else if (change.operation != Operation.CHECKPOINT) {
+                EmployeeProfile employee = LoadEmployeeData.parseLine(change.payload, 0);
+                if (employee != null) {
+                    employees.put(employee.getEmployeeNumber(), employee);
+                }
+            }
+        }
+    }
+
+    // Reads the complete, intact entries of the log
+    private LogSnapshot readLog() throws IOException {
+        LogSnapshot log = new LogSnapshot();
+        if (!Files.exists(logPath)) {
+            log.lastSequence = nextSequence - 1;
+            return log;
+        }
+        byte[] bytes = Files.readAllBytes(logPath);
+        // Anything after the last line break was torn by a crash before the entry was forced
+        int lineStart = 0;
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] != '\n') {
+                continue;
+            }
+            String line = new String(bytes, lineStart, i - lineStart, StandardCharsets.UTF_8);
+            lineStart = i + 1;
+            Change change = Change.parse(line);
+            if (change == null) {
+                System.err.println("Ignoring damaged change log entry: " + line);
+                continue;
+            }
+            log.lastSequence = Math.max(log.lastSequence, change.sequence);
+            if (change.operation != Operation.CHECKPOINT) {
+                log.changes.add(change);
+            }
+        }
+        log.length = lineStart;
+        log.changes.sort((a, b) -> Long.compare(a.sequence, b.sequence));
+        return log;
+    }
+
+    // A crash while appending can leave a partial entry at the end; later entries must not be glued to it
+    private void dropTornEntry(long intactLength) throws IOException {
+        if (Files.exists(logPath) && Files.size(logPath) > intactLength) {
+            try (FileChannel channel = FileChannel.open(logPath, StandardOpenOption.WRITE)) {
+                channel.truncate(intactLength);
+                channel.force(false);
+            }
+        }
+    }
+
+    private void replaceLog(byte[] content) throws IOException {
+        AtomicFile.write(logPath, ByteBuffer.wrap(content));
+    }
+
+    /**
+     * One entry of the change log.
+     */
+    private static final class Change {
+        final long sequence;
+        final Operation operation;
+        final String payload;
+
+        private Change(long sequence, Operation operation, String payload) {
+            this.sequence = sequence;
+            this.operation = operation;
+            this.payload = payload;
+        }
+
+        // Returns null if the line is not an intact entry
+        static Change parse(String line) {
+            String[] fields = line.split("\t", 4);
+            if (fields.length < 4) {
+                return null;
+            }
+            try {
+                if (Long.parseLong(fields[2], 16) != checksum(fields[3])) {
+                    return null;
+                }
+                return new Change(Long.parseLong(fields[0]), Operation.valueOf(fields[1]), fields[3]);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * The intact entries of the log and the number of bytes they span.
+     */
+    private static final class LogSnapshot {
+        final List<Change> changes = new ArrayList<>();
+        long lastSequence;
+        long length;
+    }
+}
@@ -0,0 +1,195 @@
+package dataLoader;
+
+import models.EmployeeProfile;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * In-memory employee master with hash indexes.
+ * Employees keep their file order as row positions, and a primary index maps each
+ * employee number to its row so lookups by number take constant time. Secondary
+ * indexes map last name, position, immediate supervisor and status to the matching
+ * employee numbers; their keys are compared case-insensitively.
+ * The repository is not thread-safe; GUI code only touches it on the EDT.
+ */
+public class EmployeeRepository {
+
+    private final List<EmployeeProfile> employees = new ArrayList<>();
+    // Employee number -> row in employees
+    private final Map<String, Integer> rowByNumber = new HashMap<>();
+    private final Map<String, Set<String>> byLastName = new HashMap<>();
+    private final Map<String, Set<String>> byPosition = new HashMap<>();
+    private final Map<String, Set<String>> bySupervisor = new HashMap<>();
+    private final Map<String, Set<String>> byStatus = new HashMap<>();
+
+    /**
+     * Creates a repository holding the given employees in order. When an employee
+     * number appears more than once, the first record is kept.
+     * @param employees The employees to index.
+     */
+    public EmployeeRepository(Collection<EmployeeProfile> employees) {
+        for (EmployeeProfile employee : employees) {
+            if (rowByNumber.containsKey(employee.getEmployeeNumber())) {
+                System.err.println("Skipping duplicate employee number: " + employee.getEmployeeNumber());
+                continue;
+            }
+            add(employee);
+        }
+    }
+
+    /**
+     * Loads the employee details file into a new repository.
+     * @param filePath Path to the employee details file.
+     * @return The indexed employees.
+     */
+    public static EmployeeRepository load(String filePath) {
+        return new EmployeeRepository(LoadEmployeeData.loadFromFile(filePath));
+    }
+
+    public int size() { return employees.size(); }
+
+    /**
+     * Returns the employee at a row position.
+     * @param row Row position, from 0 to size() - 1.
+     */
+    public EmployeeProfile get(int row) { return employees.get(row); }
+
+    /**
+     * Returns all employees in row order as a read-only view.
+     */
+    public List<EmployeeProfile> getAll() { return Collections.unmodifiableList(employees); }
+
+    /**
+     * Finds an employee by employee number.
+     * @param employeeNumber The employee number.
+     * @return The employee, or null if there is none with that number.
+     */
+    public EmployeeProfile findByNumber(String employeeNumber) {
+        Integer row = rowByNumber.get(employeeNumber);
+        return row == null ? null : employees.get(row);
+    }
+
+    /**
+     * Returns the row position of an employee.
+     * @param employeeNumber The employee number.
+     * @return The row, or -1 if there is no employee with that number.
+     */
+    public int indexOf(String employeeNumber) {
+        Integer row = rowByNumber.get(employeeNumber);
+        return row == null ? -1 : row;
+    }
+
+    public boolean contains(String employeeNumber) { return rowByNumber.containsKey(employeeNumber); }
+
+    public List<EmployeeProfile> findByLastName(String lastName) { return resolve(byLastName, lastName); }
+    public List<EmployeeProfile> findByPosition(String position) { return resolve(byPosition, position); }
+    public List<EmployeeProfile> findBySupervisor(String supervisor) { return resolve(bySupervisor, supervisor); }
+    public List<EmployeeProfile> findByStatus(String status) { return resolve(byStatus, status); }
+
+    /**
+     * Adds a new employee after the last row.
+     * @param employee The employee to add.
+     * @return The row of the new employee.
+     * @throws IllegalArgumentException if the employee number is already in use.
+     */
+    public int add(EmployeeProfile employee) {
+        String number = employee.getEmployeeNumber();
+        if (rowByNumber.containsKey(number)) {
+            throw new IllegalArgumentException("Employee number already exists: " + number);
+        }
+        int row = employees.size();
+        employees.add(employee);
+        rowByNumber.put(number, row);
+        indexSecondary(employee);
+        return row;
+    }
+
+    /**
+     * Replaces the record with the same employee number, keeping its row.
+     * @param employee The updated employee.
+     * @return The row of the updated employee, or -1 if there is no employee with that number.
+     */
+    public int update(EmployeeProfile employee) {
+        Integer row = rowByNumber.get(employee.getEmployeeNumber());
+        if (row == null) {
+            return -1;
+        }
+        unindexSecondary(employees.get(row));
+        employees.set(row, employee);
+        indexSecondary(employee);
+        return row;
+    }
+
+    /**
+     * Removes an employee. Rows after the removed one move up by one.
+     * @param employeeNumber The employee number to remove.
+     * @return The row the employee occupied, or -1 if there is no employee with that number.
+     */
+    public int remove(String employeeNumber) {
+        Integer row = rowByNumber.remove(employeeNumber);
+        if (row == null) {
+            return -1;
+        }
+        unindexSecondary(employees.remove((int) row));
+        for (int i = row; i < employees.size(); i++) {
+            rowByNumber.put(employees.get(i).getEmployeeNumber(), i);
+        }
+        return row;
+    }
+
+    private void indexSecondary(EmployeeProfile employee) {
+        String number = employee.getEmployeeNumber();
+        link(byLastName, employee, EmployeeProfile::getLastName, number);
+        link(byPosition, employee, EmployeeProfile::getPosition, number);
+        link(bySupervisor, employee, EmployeeProfile::getImmediateSupervisor, number);
+        link(byStatus, employee, EmployeeProfile::getStatus, number);
+    }
+
+    private void unindexSecondary(EmployeeProfile employee) {
+        String number = employee.getEmployeeNumber();
+        unlink(byLastName, employee, EmployeeProfile::getLastName, number);
+        unlink(byPosition, employee, EmployeeProfile::getPosition, number);
+        unlink(bySupervisor, employee, EmployeeProfile::getImmediateSupervisor, number);
+        unlink(byStatus, employee, EmployeeProfile::getStatus, number);
+    }
+
+    private static void link(Map<String, Set<String>> index, EmployeeProfile employee,
+                             Function<EmployeeProfile, String> field, String number) {
+        index.computeIfAbsent(key(field.apply(employee)), k -> new LinkedHashSet<>()).add(number);
+    }
+
+    private static void unlink(Map<String, Set<String>> index, EmployeeProfile employee,
+                               Function<EmployeeProfile, String> field, String number) {
+        String key = key(field.apply(employee));
+        Set<String> numbers = index.get(key);
+        if (numbers != null) {
+            numbers.remove(number);
+            if (numbers.isEmpty()) index.remove(key);
+        }
+    }
+
+    private List<EmployeeProfile> resolve(Map<String, Set<String>> index, String value) {
+        Set<String> numbers = index.get(key(value));
+        if (numbers == null) {
+            return Collections.emptyList();
+        }
+        List<EmployeeProfile> matches = new ArrayList<>(numbers.size());
+        for (String number : numbers) {
+            matches.add(employees.get(rowByNumber.get(number)));
+        }
+        return matches;
+    }
+
+    private static String key(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,67 +1,158 @@
 package dataLoader;
 
+import metrics.Counter;
+import metrics.EmployeeMasterLoadEvent;
+import metrics.Metrics;
+import metrics.Timer;
 import models.EmployeeProfile;
 
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
 
 /**
  * This class is responsible for loading employee profile data from a specified file path
- * and populating a list of EmployeeProfile objects.
+ * and populating a list of EmployeeProfile objects. Employees can also be streamed to a
+ * callback as each line is parsed, with progress reported in bytes read.
+ * Changes recorded in the employee change log are replayed on top of the file
+ * (see {@link EmployeeMasterFile}). An up-to-date {@link BinarySnapshot} of the file is
+ * read instead of the text when there is one.
  */
 public class LoadEmployeeData {
 
+    private static final Timer LOAD_TIMER = Metrics.timer("employees.load");
+    private static final Counter LOADED = Metrics.counter("employees.loaded");
+    private static final Counter ERRORS = Metrics.counter("employees.errors");
+
     public static List<EmployeeProfile> loadFromFile(String filePath) {
     List<EmployeeProfile> employees = new ArrayList<>();
-    try (BufferedReader br = new BufferedReader(new FileReader(filePath))) {
+    loadFromFile(filePath, employees::add, bytesRead -> { });
+    return employees;
+    }
+
+    /**
+     * Parses the employee file and hands each employee to a consumer as soon as its line
+     * has been read, so callers can display rows before the whole file is loaded.
+     * @param filePath Path to the employee details file.
+     * @param consumer Receives each employee in file order.
+     * @param progress Receives the approximate number of bytes read after each line.
+     */
+    public static void loadFromFile(String filePath, Consumer<EmployeeProfile> consumer, LongConsumer progress) {
+    EmployeeMasterLoadEvent event = new EmployeeMasterLoadEvent();
+    event.begin();
+    long start = LOAD_TIMER.start();
+    try {
+        EmployeeMasterFile.forFile(filePath).read(employee -> {
+            LOADED.increment();
+            event.employees++;
+            consumer.accept(employee);
+        }, progress);
+    } finally {
+        LOAD_TIMER.stop(start);
+        event.file = filePath;
+        event.commit();
+    }
+    }
+
+    /**
+     * Parses the employee details text, ignoring the change log and any snapshot.
+     * @param filePath Path to the employee details file.
+     * @return The well-formed employees in file order.
+     */
+    public static List<EmployeeProfile> loadFromText(String filePath) {
+    List<EmployeeProfile> employees = new ArrayList<>();
+    parseText(filePath, employees::add, bytesRead -> { });
+    return employees;
+    }
+
+    // Reads the master file as it is on disk, without looking at the change log. An up-to-date
+    // binary snapshot is used instead of the text when there is one; otherwise one is written.
+    static void parseFile(String filePath, Consumer<EmployeeProfile> consumer, LongConsumer progress) {
+    List<EmployeeProfile> snapshot = BinarySnapshot.readEmployees(filePath);
+    if (snapshot != null) {
+        snapshot.forEach(consumer);
+        progress.accept(new File(filePath).length());
+        return;
+    }
+
+    long[] stamp = BinarySnapshot.stamp(filePath);
+    List<EmployeeProfile> parsed = new ArrayList<>();
+    parseText(filePath, employee -> {
+        parsed.add(employee);
+        consumer.accept(employee);
+    }, progress);
+    BinarySnapshot.writeEmployees(filePath, parsed, stamp);
+    }
+
+    private static void parseText(String filePath, Consumer<EmployeeProfile> consumer, LongConsumer progress) {
+    try (BufferedReader br = new BufferedReader(new FileReader(filePath, EmployeeMasterFile.MASTER_CHARSET))) {
         String line = br.readLine(); // Skip header
         int lineNumber = 1;
+        long bytesRead = line == null ? 0 : line.length() + 1;
 
         while ((line = br.readLine()) != null) {
             lineNumber++;
-            String[] fields = line.split("\t");
-
-            if (fields.length < 19) {
-                System.err.println("Skipping malformed line " + lineNumber + ": " + line);
-                continue;
-            }
-
-            try {
-                EmployeeProfile employee = new EmployeeProfile(
-                        fields[0].trim(),
-                        fields[1].trim(),
-                        fields[2].trim(),
-                        fields[3].trim(),
-                        fields[4].trim(),
-                        fields[5].trim(),
-                        fields[6].trim(),
-                        fields[7].trim(),
-                        fields[8].trim(),
-                        fields[9].trim(),
-                        fields[10].trim(),
-                        fields[11].trim(),
-                        fields[12].trim(),
-                        Double.parseDouble(fields[13].replace(",", "").trim()),
-                        Double.parseDouble(fields[14].replace(",", "").trim()),
-                        Double.parseDouble(fields[15].replace(",", "").trim()),
-                        Double.parseDouble(fields[16].replace(",", "").trim()),
-                        Double.parseDouble(fields[17].replace(",", "").trim()),
-                        Double.parseDouble(fields[18].replace(",", "").trim())
-                );
-                employees.add(employee);
-            } catch (NumberFormatException nfe) {
-                System.err.println("Number format error on line " + lineNumber + ": " + line);
-                nfe.printStackTrace();
+            bytesRead += line.length() + 1;
+            progress.accept(bytesRead);
+            EmployeeProfile employee = parseLine(line, lineNumber);
+            if (employee != null) {
+                consumer.accept(employee);
             }
         }
     } catch (IOException e) {
+        ERRORS.increment();
         System.err.println("I/O Error loading employee data: " + e.getMessage());
         e.printStackTrace();
     }
+    }
 
-    return employees;
+    /**
+     * Parses one line of the employee details file.
+     * @param line A tab-separated employee line.
+     * @param lineNumber Line number used in error messages.
+     * @return The employee, or null if the line is malformed.
+     */
+    static EmployeeProfile parseLine(String line, int lineNumber) {
+        String[] fields = line.split("\t");
+
+        if (fields.length < 19) {
+            ERRORS.increment();
+            System.err.println("Skipping malformed line " + lineNumber + ": " + line);
+            return null;
+        }
+
+        try {
+            return new EmployeeProfile(
+                    fields[0].trim(),
+                    fields[1].trim(),
+                    fields[2].trim(),
+                    fields[3].trim(),
+                    fields[4].trim(),
+                    fields[5].trim(),
+                    fields[6].trim(),
+                    fields[7].trim(),
+                    fields[8].trim(),
+                    fields[9].trim(),
+                    fields[10].trim(),
+                    fields[11].trim(),
+                    fields[12].trim(),
+                    Double.parseDouble(fields[13].replace(",", "").trim()),
+                    Double.parseDouble(fields[14].replace(",", "").trim()),
+                    Double.parseDouble(fields[15].replace(",", "").trim()),
+                    Double.parseDouble(fields[16].replace(",", "").trim()),
+                    Double.parseDouble(fields[17].replace(",", "").trim()),
+                    Double.parseDouble(fields[18].replace(",", "").trim())
+            );
+        } catch (NumberFormatException nfe) {
+            ERRORS.increment();
+            System.err.println("Number format error on line " + lineNumber + ": " + line);
+            nfe.printStackTrace();
+            return null;
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,15 +1,20 @@
 package dataLoader;
 
+import metrics.AttendanceLoadEvent;
+import metrics.Counter;
+import metrics.Metrics;
+import metrics.Timer;
 import models.TimeLog;
+import models.TimeLogStore;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * This class handles loading time sheet data for a specific employee from an attendance record file.
@@ -23,40 +28,167 @@ public class LoadTimeSheet {
     public static final LocalTime STANDARD_LOGIN = LocalTime.of(8, 0);
     public static final LocalTime GRACE_PERIOD = LocalTime.of(8, 10);
 
+    private static final Timer LOAD_TIMER = Metrics.timer("attendance.load");
+    private static final Timer LOOKUP_TIMER = Metrics.timer("attendance.lookup");
+    private static final Counter LOADED = Metrics.counter("attendance.loaded");
+    static final Counter ERRORS = Metrics.counter("attendance.errors");
+
     /**
      * Loads all time logs for a specific employee from the attendance record file.
+     * The file is parsed once per version into an {@link AttendanceIndex}, so repeated calls
+     * for different employees do not re-read the file.
      * @param filePath Path to the attendance record file (TSV).
      * @param employeeNumber The employee number to filter by.
-     * @return List of TimeLog objects for the employee.
+     * @return List of TimeLog objects for the employee, sorted by date.
      */
     public static List<TimeLog> loadForEmployee(String filePath, String employeeNumber) {
-        List<TimeLog> logs = new ArrayList<>();
-        try (BufferedReader br = new BufferedReader(new FileReader(filePath))) {
-            String line = br.readLine(); // Skip header
-            while ((line = br.readLine()) != null) {
-                String[] fields = line.split("\t");
-                if (fields.length < 6) continue;
-                if (!fields[0].equals(employeeNumber)) continue;
-                try {
-                    LocalDate date = LocalDate.parse(fields[3], DATE_FORMAT);
-                    LocalTime logIn = LocalTime.parse(fields[4], TIME_FORMAT);
-                    LocalTime logOut = LocalTime.parse(fields[5], TIME_FORMAT);
-                    logs.add(new TimeLog(
-                            fields[0], // employeeNumber
-                            fields[1], // lastName
-                            fields[2], // firstName
-                            date,
-                            logIn,
-                            logOut
-                    ));
-                } catch (Exception parseEx) {
-                    System.err.println("[ERROR] Failed to parse line: " + line);
-                    parseEx.printStackTrace();
+        long start = LOOKUP_TIMER.start();
+        try {
+            return new ArrayList<>(AttendanceIndex.forFile(filePath).getLogs(employeeNumber));
+        } finally {
+            LOOKUP_TIMER.stop(start);
+        }
+    }
+
+    /**
+     * Loads the time logs of every employee from the attendance record file in a single pass.
+     * This is the basis for company-wide payroll runs, which would otherwise re-read the file
+     * once per employee.
+     * @param filePath Path to the attendance record file (TSV).
+     * @return Map of employee number to that employee's logs, in the order employees first
+     *         appear in the file; each list keeps the file's row order.
+     */
+    public static Map<String, List<TimeLog>> loadAll(String filePath) {
+        TimeLogStore store = loadStore(filePath);
+        Map<String, List<TimeLog>> logsByEmployee = new LinkedHashMap<>();
+        for (int row = 0; row < store.size(); row++) {
+            logsByEmployee.computeIfAbsent(store.employeeNumber(row), k -> new ArrayList<>()).add(store.get(row));
+        }
+        return logsByEmployee;
+    }
+
+    /**
+     * Loads the attendance record file into a compact primitive-backed store.
+     * An up-to-date {@link BinarySnapshot} is mapped instead of parsing the text; otherwise
+     * the text is parsed and a new snapshot is written for the next start.
+     * @param filePath Path to the attendance record file (TSV).
+     * @return Store holding every well-formed row in file order.
+     */
+    public static TimeLogStore loadStore(String filePath) {
+        AttendanceLoadEvent event = new AttendanceLoadEvent();
+        event.begin();
+        long start = LOAD_TIMER.start();
+        TimeLogStore store = BinarySnapshot.readAttendance(filePath);
+        event.fromSnapshot = store != null;
+        if (store == null) {
+            long[] stamp = BinarySnapshot.stamp(filePath);
+            store = parseTextStore(filePath);
+            BinarySnapshot.writeAttendance(filePath, store, stamp);
+        }
+        LOAD_TIMER.stop(start);
+        LOADED.add(store.size());
+        event.file = filePath;
+        event.rows = store.size();
+        event.commit();
+        return store;
+    }
+
+    /**
+     * Parses the attendance record text into a compact primitive-backed store in a single
+     * pass, ignoring any snapshot. Employee numbers and names are decoded once per employee,
+     * not once per row.
+     * @param filePath Path to the attendance record file (TSV).
+     * @return Store holding every well-formed row in file order.
+     */
+    public static TimeLogStore parseTextStore(String filePath) {
+        TimeLogStore store = new TimeLogStore();
+        try {
+            AttendanceTsvTokenizer.scan(filePath, row -> {
+                int employeeId = row.getEmployeeId();
+                if (!store.hasIdentity(employeeId)) {
+                    store.putIdentity(employeeId, row.employeeNumberText(), row.lastName(), row.firstName());
+                } else if (employeeId < 0 && !isIdentity(store, employeeId, row.employeeNumberText())) {
+                    return;
                 }
-            }
+                store.add(employeeId, row.getEpochDay(), row.getLogInMinute(), row.getLogOutMinute());
+            });
         } catch (IOException e) {
+            ERRORS.increment();
             System.err.println("Error loading time sheet: " + e.getMessage());
         }
-        return logs;
+        return store;
+    }
+
+    /**
+     * Parses attendance lines, such as rows appended to the file, into a new store.
+     * Malformed lines are reported and skipped.
+     * @param lines Attendance record lines without the header.
+     * @return Store holding every well-formed row in the given order.
+     */
+    static TimeLogStore parseStore(List<String> lines) {
+        TimeLogStore store = new TimeLogStore(lines.size());
+        for (String line : lines) {
+            TimeLog log = parseLine(line);
+            if (log == null) continue;
+            // Taken as written, like the full-file tokenizer, so a row gets the same id either way
+            String employeeNumber = log.getEmployeeNumber();
+            if (employeeNumber.isEmpty()) {
+                ERRORS.increment();
+                System.err.println("[ERROR] Failed to parse line: " + line);
+                continue;
+            }
+            int employeeId = TimeLogStore.idOf(employeeNumber);
+            if (!store.hasIdentity(employeeId)) {
+                store.putIdentity(employeeId, employeeNumber, log.getLastName(), log.getFirstName());
+            } else if (employeeId < 0 && !isIdentity(store, employeeId, employeeNumber)) {
+                continue;
+            }
+            LocalTime logIn = log.getLogIn();
+            LocalTime logOut = log.getLogOut();
+            store.add(employeeId, (int) log.getDate().toEpochDay(),
+                    logIn.getHour() * 60 + logIn.getMinute(), logOut.getHour() * 60 + logOut.getMinute());
+        }
+        return store;
+    }
+
+    // Two employee numbers that are not plain decimals can hash to the same id; the first one keeps it
+    private static boolean isIdentity(TimeLogStore store, int employeeId, String employeeNumber) {
+        if (employeeNumber.equals(store.employeeNumberOf(employeeId))) {
+            return true;
+        }
+        ERRORS.increment();
+        System.err.println("[ERROR] Skipping attendance of employee " + employeeNumber
+                + ": its id clashes with employee " + store.employeeNumberOf(employeeId));
+        return false;
+    }
+
+    /**
+     * Parses a single attendance record line into a TimeLog.
+     * @param line A tab-separated line from the attendance record file.
+     * @return The parsed TimeLog, or null if the line is malformed.
+     */
+    static TimeLog parseLine(String line) {
+        String[] fields = line.split("\t");
+        if (fields.length < 6) return null;
+        try {
+            LocalDate date = LocalDate.ofEpochDay(AttendanceDateParser.parseEpochDay(fields[3]));
+            int logInMinute = AttendanceDateParser.parseMinuteOfDay(fields[4]);
+            int logOutMinute = AttendanceDateParser.parseMinuteOfDay(fields[5]);
+            LocalTime logIn = LocalTime.of(logInMinute / 60, logInMinute % 60);
+            LocalTime logOut = LocalTime.of(logOutMinute / 60, logOutMinute % 60);
+            return new TimeLog(
+                    fields[0], // employeeNumber
+                    fields[1], // lastName
+                    fields[2], // firstName
+                    date,
+                    logIn,
+                    logOut
+            );
+        } catch (Exception parseEx) {
+            ERRORS.increment();
+            System.err.println("[ERROR] Failed to parse line: " + line);
+            parseEx.printStackTrace();
+            return null;
+        }
     }
 }
\ No newline at end of file
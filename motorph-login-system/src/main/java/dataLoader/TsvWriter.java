@@ -0,0 +1,302 @@
+package dataLoader;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+
+/**
+ * TsvWriter.java
+ * Writes tab-separated rows as UTF-8 straight into one reusable direct buffer that is
+ * flushed to a channel when full, without String.format or per-field string building.
+ *
+ * Fields of a row are separated by tabs; {@link #endRow()} writes the platform line
+ * separator, the same layout PrintWriter.println produced. A writer created with another
+ * separator (see {@link #csv(Path)}) quotes text fields that contain the separator, a
+ * quote or a line break, as CSV readers expect. Doubles written with
+ * {@link #fixed2(double)} are rendered exactly like {@code String.format("%.2f", value)}
+ * (HALF_UP rounding of the shortest decimal form), but always with a '.' decimal point so
+ * the file reads back with Double.parseDouble whatever the default locale is. Values that
+ * could round differently in binary arithmetic (within a hair of a .5 cent, negative,
+ * large, NaN or infinite) are handed to the formatter instead.
+ */
+public class TsvWriter implements Closeable {
+
+    private static final int BUFFER_BYTES = 256 * 1024;
+
+    // Largest value formatted without the fallback; far above any peso amount in the files
+    private static final double FAST_LIMIT = 1e9;
+    // Distance from a .5 cent below which the fallback decides the rounding
+    private static final double TIE_WINDOW = 1e-3;
+
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes();
+
+    private final WritableByteChannel channel;
+    private final char separator;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private final byte[] digits = new byte[20];
+    private boolean rowStarted;
+
+    /**
+     * Creates a writer on an open channel. Closing the writer flushes it and closes the channel.
+     * @param channel The channel to write to.
+     */
+    public TsvWriter(WritableByteChannel channel) {
+        this(channel, '\t');
+    }
+
+    /**
+     * Creates a writer on an open channel that separates fields with the given ASCII character.
+     * Closing the writer flushes it and closes the channel.
+     * @param channel The channel to write to.
+     * @param separator The field separator, for example ',' for CSV.
+     */
+    public TsvWriter(WritableByteChannel channel, char separator) {
+        if (separator >= 0x80 || separator == '"' || separator == '\n' || separator == '\r') {
+            throw new IllegalArgumentException("Unsupported field separator: " + (int) separator);
+        }
+        this.channel = channel;
+        this.separator = separator;
+    }
+
+    /**
+     * Creates (or truncates) a file and returns a writer on it.
+     * @param path The file to write.
+     * @throws IOException If the file cannot be opened.
+     */
+    public static TsvWriter create(Path path) throws IOException {
+        return new TsvWriter(open(path));
+    }
+
+    /**
+     * Creates (or truncates) a file and returns a comma-separated writer on it.
+     * @param path The file to write.
+     * @throws IOException If the file cannot be opened.
+     */
+    public static TsvWriter csv(Path path) throws IOException {
+        return new TsvWriter(open(path), ',');
+    }
+
+    private static FileChannel open(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    /**
+     * Writes a text field. Null is written as the text "null", as String.format did.
+     */
+    public TsvWriter field(String value) throws IOException {
+        separate();
+        String text = value == null ? "null" : value;
+        if (separator != '\t' && needsQuotes(text)) {
+            putQuoted(text);
+        } else {
+            putText(text);
+        }
+        return this;
+    }
+
+    /**
+     * Writes an integer field.
+     */
+    public TsvWriter field(long value) throws IOException {
+        separate();
+        putLong(value);
+        return this;
+    }
+
+    /**
+     * Writes a double with exactly two decimals, like {@code %.2f}.
+     */
+    public TsvWriter fixed2(double value) throws IOException {
+        separate();
+        long cents = cents(value);
+        if (cents < 0) {
+            putText(String.format(Locale.ROOT, "%.2f", value));
+        } else {
+            putCents(cents);
+        }
+        return this;
+    }
+
+    /**
+     * Writes a whole line as it is, for headers. Must be called at the start of a row.
+     */
+    public TsvWriter line(String text) throws IOException {
+        putText(text);
+        return endRow();
+    }
+
+    /**
+     * Ends the current row.
+     */
+    public TsvWriter endRow() throws IOException {
+        ensure(LINE_SEPARATOR.length);
+        buffer.put(LINE_SEPARATOR);
+        rowStarted = false;
+        return this;
+    }
+
+    /**
+     * Writes everything buffered so far to the channel.
+     */
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Appends a double with exactly two decimals, like {@code String.format("%.2f", value)}
+     * with a '.' decimal point, to a StringBuilder.
+     * @param out The builder to append to.
+     * @param value The value.
+     * @return The builder.
+     */
+    public static StringBuilder appendFixed2(StringBuilder out, double value) {
+        long cents = cents(value);
+        if (cents < 0) {
+            return out.append(String.format(Locale.ROOT, "%.2f", value));
+        }
+        out.append(cents / 100).append('.');
+        int fraction = (int) (cents % 100);
+        if (fraction < 10) out.append('0');
+        return out.append(fraction);
+    }
+
+    // The value in whole cents rounded HALF_UP, or -1 if the formatter has to decide
+    private static long cents(double value) {
+        if (!(value >= 0 && value < FAST_LIMIT)) {
+            return -1; // Negative, NaN, infinite or large
+        }
+        double scaled = value * 100;
+        double floor = Math.floor(scaled);
+        double fraction = scaled - floor;
+        if (Math.abs(fraction - 0.5) < TIE_WINDOW) {
+            return -1;
+        }
+        if (value == 0 && 1 / value < 0) {
+            return -1; // -0.0 formats as "-0.00"
+        }
+        return (long) floor + (fraction > 0.5 ? 1 : 0);
+    }
+
+    private void separate() throws IOException {
+        if (rowStarted) {
+            ensure(1);
+            buffer.put((byte) separator);
+        }
+        rowStarted = true;
+    }
+
+    private void putCents(long cents) throws IOException {
+        ensure(digits.length + 4);
+        putDigits(cents / 100);
+        int fraction = (int) (cents % 100);
+        buffer.put((byte) '.');
+        buffer.put((byte) ('0' + fraction / 10));
+        buffer.put((byte) ('0' + fraction % 10));
+    }
+
+    private void putLong(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            putText(Long.toString(value));
+            return;
+        }
+        ensure(digits.length + 1);
+        if (value < 0) {
+            buffer.put((byte) '-');
+            value = -value;
+        }
+        putDigits(value);
+    }
+
+    // Caller has ensured room for the digits
+    private void putDigits(long value) {
+        int position = digits.length;
+        do {
+            digits[--position] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value > 0);
+        buffer.put(digits, position, digits.length - position);
+    }
+
+    private boolean needsQuotes(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == separator || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Wraps the text in quotes and doubles the quotes inside it
+    private void putQuoted(String text) throws IOException {
+        ensure(1);
+        buffer.put((byte) '"');
+        int start = 0;
+        int quote;
+        while ((quote = text.indexOf('"', start)) >= 0) {
+            putText(text.substring(start, quote + 1));
+            ensure(1);
+            buffer.put((byte) '"');
+            start = quote + 1;
+        }
+        putText(text.substring(start));
+        ensure(1);
+        buffer.put((byte) '"');
+    }
+
+    // UTF-8 encoding without a CharsetEncoder; plain ASCII takes one comparison per char
+    private void putText(String text) throws IOException {
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                if (!buffer.hasRemaining()) flush();
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                ensure(2);
+                buffer.put((byte) (0xC0 | (c >> 6)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                ensure(4);
+                buffer.put((byte) (0xF0 | (codePoint >> 18)));
+                buffer.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                if (!buffer.hasRemaining()) flush();
+                buffer.put((byte) '?'); // Unpaired surrogate, as the UTF-8 encoder replaces it
+            } else {
+                ensure(3);
+                buffer.put((byte) (0xE0 | (c >> 12)));
+                buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+}
@@ -2,37 +2,34 @@ package governmentContributions;
 
 /**
  * CalculateWithholdingTax.java
- * This class calculates the withholding tax based on an employee's weekly earnings,
+ * This class calculates the withholding tax based on an employee's monthly earnings,
  * using the 2023 Philippine BIR withholding tax table for monthly rates.
- * The weekly earnings are annualized and then the monthly tax is computed and divided by 4.
+ * The brackets are read from "Witholding Tax.tsv" through {@link WithholdingTaxTable}.
  */
 public class CalculateWithholdingTax {
 
     /**
-     * Calculates the withholding tax based on weekly earnings.
-     * @param weeklyEarnings The employee's gross weekly earnings.
-     * @return The withholding tax for the week.
+     * Calculates the withholding tax based on monthly earnings.
+     * @param monthlyEarnings The employee's gross monthly earnings.
+     * @return The monthly withholding tax.
      */
-    public static double compute(double weeklyEarnings) {
-        // Convert weekly earnings to monthly for tax bracket computation
-        double monthlyEarnings = weeklyEarnings; // Approximate 4 weeks per month
+    public static double compute(double monthlyEarnings) {
+        return WithholdingTaxTable.getInstance().compute(monthlyEarnings);
+    }
 
-        double tax = 0.0;
-        if (monthlyEarnings <= 20832) {
-            tax = 0.0;
-        } else if (monthlyEarnings <= 33333) {
-            tax = (monthlyEarnings - 20833) * 0.20;
-        } else if (monthlyEarnings <= 66667) {
-            tax = 2500 + (monthlyEarnings - 33333) * 0.25;
-        } else if (monthlyEarnings <= 166667) {
-            tax = 10833 + (monthlyEarnings - 66667) * 0.30;
-        } else if (monthlyEarnings <= 666667) {
-            tax = 40833.33 + (monthlyEarnings - 166667) * 0.32;
-        } else {
-            tax = 200833.33 + (monthlyEarnings - 666667) * 0.35;
-        }
+    /**
+     * Calculates the withholding tax for a batch of monthly earnings, e.g. for a company-wide payroll run.
+     * @param monthlyEarnings The employees' gross monthly earnings.
+     * @param out Receives each employee's monthly withholding tax.
+     */
+    public static void computeBatch(double[] monthlyEarnings, double[] out) {
+        WithholdingTaxTable.getInstance().computeBatch(monthlyEarnings, out);
+    }
 
-        // Convert monthly tax to weekly
-        return tax;
+    /**
+     * Reloads the withholding tax table so rate changes apply without a restart.
+     */
+    public static void reloadTable() {
+        WithholdingTaxTable.reload(WithholdingTaxTable.DEFAULT_FILE);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,36 @@
+package governmentContributions;
+
+/**
+ * Deduction.java
+ * A single payroll deduction computed from an employee's basic gross monthly pay.
+ * Deductions are run together by a {@link DeductionPipeline}; implementations only
+ * need {@link #compute(double)}, and may override the batch method when they can
+ * process a range of employees faster than one at a time.
+ */
+public interface Deduction {
+
+    /**
+     * Returns the name shown for this deduction, for example "SSS".
+     */
+    String getName();
+
+    /**
+     * Computes the deduction for one employee.
+     * @param basicMonthlyPay The employee's basic gross monthly pay.
+     * @return The amount to deduct.
+     */
+    double compute(double basicMonthlyPay);
+
+    /**
+     * Computes the deduction for a range of employees.
+     * @param basicMonthlyPay Basic gross monthly pay of each employee.
+     * @param from First index to compute (inclusive).
+     * @param to Last index to compute (exclusive).
+     * @param out Receives the deduction at the same index as each employee.
+     */
+    default void computeBatch(double[] basicMonthlyPay, int from, int to, double[] out) {
+        for (int i = from; i < to; i++) {
+            out[i] = compute(basicMonthlyPay[i]);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package governmentContributions;
+
+/**
+ * DeductionResult.java
+ * The output of a {@link DeductionPipeline} run, stored by column: one array of amounts
+ * per stage plus the total deductions of each employee, all indexed like the pay input.
+ */
+public class DeductionResult {
+
+    private final String[] stageNames;
+    private final double[][] amounts;
+    private final double[] totals;
+
+    DeductionResult(String[] stageNames, double[][] amounts, double[] totals) {
+        this.stageNames = stageNames;
+        this.amounts = amounts;
+        this.totals = totals;
+    }
+
+    public int size() { return totals.length; }
+    public int getStageCount() { return stageNames.length; }
+    public String getStageName(int stage) { return stageNames[stage]; }
+
+    /**
+     * Returns the amounts computed by one stage. The array is shared, not copied.
+     * @param stage Index of the stage in the pipeline.
+     */
+    public double[] getAmounts(int stage) { return amounts[stage]; }
+
+    public double getAmount(int stage, int row) { return amounts[stage][row]; }
+
+    /**
+     * Returns the sum of all stages for each employee. The array is shared, not copied.
+     */
+    public double[] getTotals() { return totals; }
+
+    public double getTotal(int row) { return totals[row]; }
+}
@@ -0,0 +1,57 @@
+package governmentContributions;
+
+/**
+ * GovernmentDeduction.java
+ * The built-in deductions: the Pag-IBIG, PhilHealth and SSS employee contributions and
+ * the withholding tax. All four take basic gross monthly pay directly; the weekly
+ * figures the calculators also accept are only ever multiplied back by four.
+ */
+public enum GovernmentDeduction implements Deduction {
+
+    PAGIBIG("Pag-IBIG") {
+        @Override
+        public double compute(double basicMonthlyPay) {
+            return CalculatePagibig.compute(basicMonthlyPay);
+        }
+    },
+
+    PHILHEALTH("PhilHealth") {
+        @Override
+        public double compute(double basicMonthlyPay) {
+            return CalculatePhilhealth.calculatePhilHealth(basicMonthlyPay);
+        }
+    },
+
+    SSS("SSS") {
+        @Override
+        public double compute(double basicMonthlyPay) {
+            return CalculateSss.compute(basicMonthlyPay);
+        }
+
+        @Override
+        public void computeBatch(double[] basicMonthlyPay, int from, int to, double[] out) {
+            SssContributionTable.getInstance().lookupBatch(basicMonthlyPay, from, to, out);
+        }
+    },
+
+    WITHHOLDING_TAX("Withholding Tax") {
+        @Override
+        public double compute(double basicMonthlyPay) {
+            return CalculateWithholdingTax.compute(basicMonthlyPay);
+        }
+
+        @Override
+        public void computeBatch(double[] basicMonthlyPay, int from, int to, double[] out) {
+            WithholdingTaxTable.getInstance().computeBatch(basicMonthlyPay, from, to, out);
+        }
+    };
+
+    private final String name;
+
+    GovernmentDeduction(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public String getName() { return name; }
+}
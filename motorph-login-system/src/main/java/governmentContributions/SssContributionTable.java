@@ -0,0 +1,167 @@
+package governmentContributions;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * SssContributionTable.java
+ * The SSS contribution schedule loaded from "SSS Contribution Schedule.tsv" into two sorted
+ * primitive arrays: the exclusive upper bound of each compensation range and the employee
+ * contribution for that range. Lookups are a binary search over the bounds, and the table
+ * can be reloaded at runtime when the schedule file is updated.
+ */
+public class SssContributionTable {
+
+    // Relative to the project directory in motorph.home if set (see payroll.PayrollCli)
+    public static final String DEFAULT_FILE =
+            Paths.get(System.getProperty("motorph.home", ""), "src/main/resources/SSS Contribution Schedule.tsv").toString();
+
+    // 2023 schedule, used when the schedule file cannot be read
+    private static final double[] DEFAULT_UPPER_BOUNDS = {
+        3250, 3750, 4250, 4750, 5250, 5750, 6250, 6750, 7250, 7750, 8250, 8750, 9250, 9750,
+        10250, 10750, 11250, 11750, 12250, 12750, 13250, 13750, 14250, 14750, 15250, 15750,
+        16250, 16750, 17250, 17750, 18250, 18750, 19250, 19750, 20250, 20750, 21250, 21750,
+        22250, 22750, 23250, 23750, 24250, 24750
+    };
+    private static final double[] DEFAULT_CONTRIBUTIONS = {
+        135.00, 157.50, 180.00, 202.50, 225.00, 247.50, 270.00, 292.50, 315.00, 337.50, 360.00,
+        382.50, 405.00, 427.50, 450.00, 472.50, 495.00, 517.50, 540.00, 562.50, 585.00, 607.50,
+        630.00, 652.50, 675.00, 697.50, 720.00, 742.50, 765.00, 787.50, 810.00, 832.50, 855.00,
+        877.50, 900.00, 922.50, 945.00, 967.50, 990.00, 1012.50, 1035.00, 1057.50, 1080.00,
+        1102.50, 1125.00
+    };
+
+    private static volatile SssContributionTable current = load(DEFAULT_FILE);
+
+    // upperBounds[i] is the exclusive upper bound of range i; the last range has no upper bound
+    private final double[] upperBounds;
+    private final double[] contributions;
+
+    private SssContributionTable(double[] upperBounds, double[] contributions) {
+        this.upperBounds = upperBounds;
+        this.contributions = contributions;
+    }
+
+    /**
+     * Returns the table currently in use.
+     */
+    public static SssContributionTable getInstance() {
+        return current;
+    }
+
+    /**
+     * Reloads the schedule file and swaps in the new table for all subsequent lookups.
+     * @param filePath Path to the SSS contribution schedule (TSV).
+     */
+    public static void reload(String filePath) {
+        current = load(filePath);
+    }
+
+    /**
+     * Loads a schedule file, falling back to the built-in 2023 schedule if the file
+     * is missing or malformed.
+     * @param filePath Path to the SSS contribution schedule (TSV).
+     * @return The loaded table.
+     */
+    public static SssContributionTable load(String filePath) {
+        try (BufferedReader br = new BufferedReader(new FileReader(filePath))) {
+            double[] bounds = new double[64];
+            double[] values = new double[64];
+            int ranges = 0;
+            boolean open = false;
+
+            String line = br.readLine(); // Skip header
+            while ((line = br.readLine()) != null) {
+                String[] fields = line.split("\t");
+                if (fields.length < 4 || fields[3].isBlank()) continue;
+                if (open) {
+                    throw new IllegalArgumentException("Range after open-ended range: " + line);
+                }
+                if (ranges == values.length) {
+                    bounds = Arrays.copyOf(bounds, ranges * 2);
+                    values = Arrays.copyOf(values, ranges * 2);
+                }
+
+                String from = fields[0].trim();
+                String to = fields[2].trim();
+                if (from.startsWith("Below")) {
+                    bounds[ranges] = parseAmount(from.substring("Below".length()));
+                } else if (to.equalsIgnoreCase("Over")) {
+                    open = true;
+                } else {
+                    bounds[ranges] = parseAmount(to);
+                }
+                values[ranges] = parseAmount(fields[3]);
+                if (!open && ranges > 0 && bounds[ranges] <= bounds[ranges - 1]) {
+                    throw new IllegalArgumentException("Ranges are not ascending: " + line);
+                }
+                ranges++;
+            }
+            if (!open || ranges < 2) {
+                throw new IllegalArgumentException("Schedule must end with an open-ended range");
+            }
+            return new SssContributionTable(Arrays.copyOf(bounds, ranges - 1), Arrays.copyOf(values, ranges));
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Error loading SSS contribution schedule, using built-in table: " + e.getMessage());
+            return new SssContributionTable(DEFAULT_UPPER_BOUNDS, DEFAULT_CONTRIBUTIONS);
+        }
+    }
+
+    /**
+     * Looks up the employee contribution for a monthly compensation.
+     * @param monthlyCompensation The employee's monthly compensation.
+     * @return The employee's SSS contribution.
+     */
+    public double lookup(double monthlyCompensation) {
+        return contributions[rangeOf(monthlyCompensation)];
+    }
+
+    /**
+     * Looks up the contributions of a whole batch of monthly compensations.
+     * @param monthlyCompensations Input compensations.
+     * @param out Receives the contribution for each input; must be at least as long as the input.
+     */
+    public void lookupBatch(double[] monthlyCompensations, double[] out) {
+        if (out.length < monthlyCompensations.length) {
+            throw new IllegalArgumentException("Output array is shorter than input array");
+        }
+        lookupBatch(monthlyCompensations, 0, monthlyCompensations.length, out);
+    }
+
+    /**
+     * Looks up the contributions of a range of monthly compensations.
+     * @param monthlyCompensations Input compensations.
+     * @param from First index to compute (inclusive).
+     * @param to Last index to compute (exclusive).
+     * @param out Receives the contribution at the same index as each input.
+     */
+    public void lookupBatch(double[] monthlyCompensations, int from, int to, double[] out) {
+        for (int i = from; i < to; i++) {
+            out[i] = contributions[rangeOf(monthlyCompensations[i])];
+        }
+    }
+
+    public int getRangeCount() { return contributions.length; }
+
+    // Index of the first range whose upper bound is above the compensation (the open range if none)
+    private int rangeOf(double compensation) {
+        int low = 0;
+        int high = upperBounds.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compensation < upperBounds[mid]) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    private static double parseAmount(String text) {
+        return Double.parseDouble(text.replace(",", "").trim());
+    }
+}
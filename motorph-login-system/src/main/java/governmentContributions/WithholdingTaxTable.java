@@ -0,0 +1,211 @@
+package governmentContributions;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * WithholdingTaxTable.java
+ * The BIR monthly withholding tax table loaded from "Witholding Tax.tsv". Each bracket is
+ * stored as a fixed amount, a rate and the amount the rate applies in excess of, in parallel
+ * primitive arrays, so the tax for any bracket is base + (earnings - excessOver) * rate.
+ * Single values and whole batches are computed from the same table.
+ */
+public class WithholdingTaxTable {
+
+    // Relative to the project directory in motorph.home if set (see payroll.PayrollCli)
+    public static final String DEFAULT_FILE =
+            Paths.get(System.getProperty("motorph.home", ""), "src/main/resources/Witholding Tax.tsv").toString();
+
+    // 2023 table, used when the table file cannot be read
+    private static final double[] DEFAULT_UPPER_BOUNDS = {20832, 33333, 66667, 166667, 666667};
+    private static final double[] DEFAULT_BASES = {0, 0, 2500, 10833, 40833.33, 200833.33};
+    private static final double[] DEFAULT_RATES = {0, 0.20, 0.25, 0.30, 0.32, 0.35};
+    private static final double[] DEFAULT_EXCESS_OVER = {0, 20833, 33333, 66667, 166667, 666667};
+
+    // "2,500 plus 25% in excess of 33,333", "20% in excess of 20,833" or "No withholding tax"
+    private static final Pattern RATE_PATTERN =
+            Pattern.compile("(?:([\\d,.]+)\\s+plus\\s+)?([\\d.]+)%\\s+in\\s+excess\\s+(?:of|over)\\s+([\\d,.]+)",
+                    Pattern.CASE_INSENSITIVE);
+
+    private static volatile WithholdingTaxTable current = load(DEFAULT_FILE);
+
+    // upperBounds[i] is the inclusive upper bound of bracket i; the last bracket has no upper bound
+    private final double[] upperBounds;
+    private final double[] bases;
+    private final double[] rates;
+    private final double[] excessOver;
+
+    private WithholdingTaxTable(double[] upperBounds, double[] bases, double[] rates, double[] excessOver) {
+        this.upperBounds = upperBounds;
+        this.bases = bases;
+        this.rates = rates;
+        this.excessOver = excessOver;
+    }
+
+    /**
+     * Returns the table currently in use.
+     */
+    public static WithholdingTaxTable getInstance() {
+        return current;
+    }
+
+    /**
+     * Reloads the table file and swaps in the new table for all subsequent computations.
+     * @param filePath Path to the withholding tax table (TSV).
+     */
+    public static void reload(String filePath) {
+        current = load(filePath);
+    }
+
+    /**
+     * Loads a withholding tax table file, falling back to the built-in 2023 table if the
+     * file is missing or malformed. A bracket written as "A to below B" covers earnings up
+     * to and including the start of the next bracket, matching the BIR table's use of
+     * whole-peso amounts.
+     * @param filePath Path to the withholding tax table (TSV).
+     * @return The loaded table.
+     */
+    public static WithholdingTaxTable load(String filePath) {
+        try (BufferedReader br = new BufferedReader(new FileReader(filePath))) {
+            double[] lowerBounds = new double[16];
+            double[] statedUpper = new double[16];
+            double[] bases = new double[16];
+            double[] rates = new double[16];
+            double[] excessOver = new double[16];
+            int brackets = 0;
+
+            String line = br.readLine(); // Skip header
+            while ((line = br.readLine()) != null) {
+                String[] fields = line.split("\t");
+                if (fields.length < 2 || fields[0].isBlank()) continue;
+                if (brackets == bases.length) {
+                    int capacity = brackets * 2;
+                    lowerBounds = Arrays.copyOf(lowerBounds, capacity);
+                    statedUpper = Arrays.copyOf(statedUpper, capacity);
+                    bases = Arrays.copyOf(bases, capacity);
+                    rates = Arrays.copyOf(rates, capacity);
+                    excessOver = Arrays.copyOf(excessOver, capacity);
+                }
+
+                String range = fields[0].trim().toLowerCase();
+                if (range.endsWith("and below")) {
+                    lowerBounds[brackets] = Double.NEGATIVE_INFINITY;
+                    statedUpper[brackets] = parseAmount(range.substring(0, range.length() - "and below".length()));
+                } else if (range.endsWith("and above")) {
+                    lowerBounds[brackets] = parseAmount(range.substring(0, range.length() - "and above".length()));
+                    statedUpper[brackets] = Double.POSITIVE_INFINITY;
+                } else if (range.contains("to below")) {
+                    String[] parts = range.split("to below");
+                    lowerBounds[brackets] = parseAmount(parts[0]);
+                    statedUpper[brackets] = Double.NaN; // Closed by the next bracket's start
+                } else {
+                    throw new IllegalArgumentException("Unrecognized range: " + line);
+                }
+
+                String tax = fields[1].trim();
+                if (tax.equalsIgnoreCase("No withholding tax")) {
+                    bases[brackets] = 0;
+                    rates[brackets] = 0;
+                    excessOver[brackets] = 0;
+                } else {
+                    Matcher matcher = RATE_PATTERN.matcher(tax);
+                    if (!matcher.matches()) {
+                        throw new IllegalArgumentException("Unrecognized tax rate: " + line);
+                    }
+                    bases[brackets] = matcher.group(1) == null ? 0 : parseAmount(matcher.group(1));
+                    rates[brackets] = Double.parseDouble(matcher.group(2)) / 100.0;
+                    excessOver[brackets] = parseAmount(matcher.group(3));
+                }
+                brackets++;
+            }
+            if (brackets < 2 || statedUpper[brackets - 1] != Double.POSITIVE_INFINITY) {
+                throw new IllegalArgumentException("Table must end with an open-ended bracket");
+            }
+
+            double[] upperBounds = new double[brackets - 1];
+            for (int i = 0; i < brackets - 1; i++) {
+                upperBounds[i] = Double.isNaN(statedUpper[i]) ? lowerBounds[i + 1] : statedUpper[i];
+                if (i > 0 && upperBounds[i] <= upperBounds[i - 1]) {
+                    throw new IllegalArgumentException("Brackets are not ascending at bracket " + (i + 1));
+                }
+            }
+            return new WithholdingTaxTable(upperBounds, Arrays.copyOf(bases, brackets),
+                    Arrays.copyOf(rates, brackets), Arrays.copyOf(excessOver, brackets));
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Error loading withholding tax table, using built-in table: " + e.getMessage());
+            return new WithholdingTaxTable(DEFAULT_UPPER_BOUNDS, DEFAULT_BASES, DEFAULT_RATES, DEFAULT_EXCESS_OVER);
+        }
+    }
+
+    /**
+     * Computes the monthly withholding tax for monthly taxable earnings.
+     * @param monthlyEarnings The employee's monthly taxable earnings.
+     * @return The monthly withholding tax.
+     */
+    public double compute(double monthlyEarnings) {
+        return taxFor(bracketOf(monthlyEarnings), monthlyEarnings);
+    }
+
+    /**
+     * Computes the monthly withholding tax for a batch of earnings. The bracket is found by
+     * counting the bounds below each value rather than by a branch cascade.
+     * @param monthlyEarnings Input monthly taxable earnings.
+     * @param out Receives the tax for each input; must be at least as long as the input.
+     */
+    public void computeBatch(double[] monthlyEarnings, double[] out) {
+        if (out.length < monthlyEarnings.length) {
+            throw new IllegalArgumentException("Output array is shorter than input array");
+        }
+        computeBatch(monthlyEarnings, 0, monthlyEarnings.length, out);
+    }
+
+    /**
+     * Computes the monthly withholding tax for a range of a batch of earnings.
+     * @param monthlyEarnings Input monthly taxable earnings.
+     * @param from First index to compute (inclusive).
+     * @param to Last index to compute (exclusive).
+     * @param out Receives the tax at the same index as each input.
+     */
+    public void computeBatch(double[] monthlyEarnings, int from, int to, double[] out) {
+        double[] bounds = upperBounds;
+        for (int i = from; i < to; i++) {
+            double earnings = monthlyEarnings[i];
+            int bracket = 0;
+            for (double bound : bounds) {
+                bracket += (earnings <= bound) ? 0 : 1; // NaN lands in the last bracket, as in compute
+            }
+            out[i] = taxFor(bracket, earnings);
+        }
+    }
+
+    public int getBracketCount() { return bases.length; }
+
+    private double taxFor(int bracket, double earnings) {
+        double rate = rates[bracket];
+        return rate == 0 ? bases[bracket] : bases[bracket] + (earnings - excessOver[bracket]) * rate;
+    }
+
+    // Index of the first bracket whose inclusive upper bound covers the earnings (the open bracket if none)
+    private int bracketOf(double earnings) {
+        int low = 0;
+        int high = upperBounds.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (earnings <= upperBounds[mid]) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    private static double parseAmount(String text) {
+        return Double.parseDouble(text.replace(",", "").trim());
+    }
+}
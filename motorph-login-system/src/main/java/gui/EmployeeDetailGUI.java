@@ -1,15 +1,22 @@
 package gui;
 
 import models.EmployeeProfile;
+import models.Payslip;
 import models.TimeLog;
-import dataLoader.LoadTimeSheet;
-import governmentContributions.*;
+import dataLoader.AttendancePartitions;
+import dataLoader.EmployeeMasterFile;
+import metrics.Metrics;
+import metrics.PayComputationEvent;
+import payroll.PayrollCalculator;
+import payroll.PayslipCache;
 
 import javax.swing.*;
 import javax.swing.border.TitledBorder;  // Add this import
 import java.awt.*;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 
 /**
  * EmployeeDetailGUI.java
@@ -34,6 +41,8 @@ import java.util.List;
  * - Month selection for salary computation
  * - Detailed salary calculation display within the same frame
  * - Comprehensive payroll breakdown
+ * - Salary computed on a background thread; month/year switches are debounced and
+ *   supersede any computation still running
  * 
  * @author Payroll System Team
  * @version 1.0
@@ -46,9 +55,21 @@ public class EmployeeDetailGUI extends JDialog {
     private JButton computeButton;
     private JPanel salaryDisplayPanel;
     private JScrollPane salaryScrollPane;
+    private Timer recomputeTimer;          // Debounces month/year switches
+    private SalaryWorker salaryWorker;     // Computation in progress, if any
+
+    // Delay after the last month/year switch before recomputing
+    private static final int RECOMPUTE_DELAY_MS = 300;
     
     // Add the attendance file path
-    private static final String attendanceFile = "src/main/resources/Employee Attendance Record.tsv";
+    static final String attendanceFile = "src/main/resources/Employee Attendance Record.tsv";
+
+    // Payslips already computed in this session; cleared when a source file or the employee change log changes
+    static final PayslipCache PAYSLIP_CACHE = new PayslipCache(1024, attendanceFile, PayrollGUI.EMPLOYEE_FILE,
+            EmployeeMasterFile.forFile(PayrollGUI.EMPLOYEE_FILE).getLogPath().toString());
+
+    // Time from starting a salary computation to showing it; named in full next to javax.swing.Timer
+    private static final metrics.Timer SALARY_TIMER = Metrics.timer("gui.salary");
 
     /**
      * Constructor for the Employee Detail dialog
@@ -93,6 +114,10 @@ public class EmployeeDetailGUI extends JDialog {
         computeButton.setPreferredSize(new Dimension(140, 30));
         computeButton.setToolTipText("Calculate salary for the selected month and year");
         computeButton.addActionListener(e -> computeSalaryForSelectedMonth());
+
+        // Recompute once the user stops switching months/years
+        recomputeTimer = new Timer(RECOMPUTE_DELAY_MS, e -> computeSalaryForSelectedMonth());
+        recomputeTimer.setRepeats(false);
     }
 
     /**
@@ -266,6 +291,9 @@ public class EmployeeDetailGUI extends JDialog {
         yearComboBox.setPreferredSize(new Dimension(80, 30));
         yearComboBox.setSelectedIndex(2); // Default to 2024
 
+        monthComboBox.addActionListener(e -> recomputeTimer.restart());
+        yearComboBox.addActionListener(e -> recomputeTimer.restart());
+
         // Add labels and components to the panel
         computationPanel.add(new JLabel("Month:"));
         computationPanel.add(monthComboBox);
@@ -278,121 +306,193 @@ public class EmployeeDetailGUI extends JDialog {
 
     /**
      * Computes the salary for the selected month and displays the results
-     * in the same frame along with the employee details.
+     * in the same frame along with the employee details. The attendance lookup and
+     * payroll math run on a background thread while a progress indicator is shown;
+     * a computation still running for a previous selection is cancelled.
      */
     private void computeSalaryForSelectedMonth() {
-        // Clear previous results
-        salaryDisplayPanel.removeAll();
-        
+        recomputeTimer.stop();
+        if (salaryWorker != null) {
+            // Not interrupted: the attendance index may be loading a file shared with other windows
+            salaryWorker.cancel(false);
+        }
+
         // Get selected month and year
         int monthIdx = monthComboBox.getSelectedIndex() + 1;
         int year = Integer.parseInt((String) yearComboBox.getSelectedItem()); // Parse String to int
-        
-        // Calculate the start and end dates for the selected month
-        LocalDate startDate = LocalDate.of(year, monthIdx, 1);
-        LocalDate endDate = startDate.withDayOfMonth(startDate.lengthOfMonth());
-        
-        try {
-            // Load the time logs for the employee
-            List<TimeLog> logs = LoadTimeSheet.loadForEmployee(attendanceFile, employee.getEmployeeNumber());
-            
-            // Check if there are any records for the selected year
-            LocalDate yearStart = LocalDate.of(year, 1, 1);
-            LocalDate yearEnd = LocalDate.of(year, 12, 31);
-            List<TimeLog> yearLogs = logs.stream()
-                    .filter(log -> !log.getDate().isBefore(yearStart) && !log.getDate().isAfter(yearEnd))
-                    .toList();
-
-            // Filter for the selected month
-            List<TimeLog> filteredLogs = logs.stream()
-                    .filter(log -> !log.getDate().isBefore(startDate) && !log.getDate().isAfter(endDate))
-                    .toList();
-              
+
+        showComputingIndicator(LocalDate.of(year, monthIdx, 1));
+
+        salaryWorker = new SalaryWorker(year, monthIdx);
+        salaryWorker.execute();
+    }
+
+    /**
+     * Stops any pending or running salary computation when the dialog closes.
+     */
+    @Override
+    public void dispose() {
+        recomputeTimer.stop();
+        if (salaryWorker != null) {
+            salaryWorker.cancel(false);
+            salaryWorker = null;
+        }
+        super.dispose();
+    }
+
+    /**
+     * Outcome of a background salary computation.
+     */
+    private static class SalaryResult {
+        final LocalDate startDate;
+        final Payslip payslip;          // null when there are no logs for the month
+        final boolean hasLogsInYear;
+
+        SalaryResult(LocalDate startDate, Payslip payslip, boolean hasLogsInYear) {
+            this.startDate = startDate;
+            this.payslip = payslip;
+            this.hasLogsInYear = hasLogsInYear;
+        }
+    }
+
+    /**
+     * Background task that looks up the month's attendance and computes the payslip.
+     * Results of a cancelled or superseded task are discarded.
+     */
+    private class SalaryWorker extends SwingWorker<SalaryResult, Void> {
+        private final int year;
+        private final int month;
+        private final long started = SALARY_TIMER.start();
+
+        SalaryWorker(int year, int month) {
+            this.year = year;
+            this.month = month;
+        }
+
+        @Override
+        protected SalaryResult doInBackground() {
+            // Calculate the start date of the selected month
+            LocalDate startDate = LocalDate.of(year, month, 1);
+            PayComputationEvent event = new PayComputationEvent();
+            event.begin();
+            event.employeeNumber = employee.getEmployeeNumber();
+            event.period = YearMonth.of(year, month).toString();
+
+            long generation = PAYSLIP_CACHE.generation();
+            Payslip cached = PAYSLIP_CACHE.get(employee.getEmployeeNumber(), year, month);
+            if (cached != null) {
+                event.cached = true;
+                event.rows = cached.getLogCount();
+                event.commit();
+                return new SalaryResult(startDate, cached, true);
+            }
+
+            // Look up the employee's logs in the selected month's attendance partition only
+            AttendancePartitions attendance = AttendancePartitions.forFile(attendanceFile);
+            if (isCancelled()) {
+                return null;
+            }
+            List<TimeLog> filteredLogs = attendance.getLogsForMonth(employee.getEmployeeNumber(), year, month);
+            event.rows = filteredLogs.size();
+
             if (filteredLogs.isEmpty()) {
-                // Create error message panel
-                JPanel errorPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
-                errorPanel.setBackground(Color.WHITE);
-                
-                JLabel noRecords;
-                if (yearLogs.isEmpty()) {
-                    noRecords = new JLabel("No attendance records found for this employee in " + year + ".");
+                boolean hasLogsInYear = attendance.hasLogsInYear(employee.getEmployeeNumber(), year);
+                event.commit();
+                return new SalaryResult(startDate, null, hasLogsInYear);
+            }
+            // Calculate payroll details
+            Payslip payslip = PayrollCalculator.compute(employee, filteredLogs, year, month);
+            PAYSLIP_CACHE.put(payslip, generation);
+            event.commit();
+            return new SalaryResult(startDate, payslip, true);
+        }
+
+        @Override
+        protected void done() {
+            if (isCancelled() || this != salaryWorker) {
+                return;
+            }
+            salaryWorker = null;
+            SALARY_TIMER.stop(started);
+
+            // Clear previous results
+            salaryDisplayPanel.removeAll();
+            try {
+                SalaryResult result = get();
+                if (result.payslip == null) {
+                    if (!result.hasLogsInYear) {
+                        addMessage("No attendance records found for this employee in " + year + ".");
+                    } else {
+                        addMessage("No attendance records found for " + result.startDate.getMonth() + " " + year + ".");
+                    }
                 } else {
-                    noRecords = new JLabel("No attendance records found for " + startDate.getMonth() + " " + year + ".");
+                    // Create the detailed salary breakdown panel
+                    createSalaryBreakdownPanel(result.payslip);
                 }
-                noRecords.setForeground(Color.RED);
-                noRecords.setFont(new Font("SansSerif", Font.BOLD, 12));
-                
-                errorPanel.add(noRecords);
-                errorPanel.setMaximumSize(new Dimension(Integer.MAX_VALUE, 50));
-                
-                salaryDisplayPanel.add(Box.createVerticalStrut(20));
-                salaryDisplayPanel.add(errorPanel);
-                
-            } else {
-                // Calculate payroll details
-                double totalHours = filteredLogs.stream().mapToDouble(TimeLog::getHoursWorked).sum();
-                double totalOvertime = filteredLogs.stream().mapToDouble(TimeLog::getOvertime).sum();
-                
-                // Extract allowances
-                double rice = employee.getRiceSubsidy();
-                double phone = employee.getPhoneAllowance();
-                double clothing = employee.getClothingAllowance();
-                double totalAllowances = rice + phone + clothing;
-                
-                // Calculate gross pay components
-                double basicGrossMonthlyPay = totalHours * employee.getHourlyRate();
-                double grossMonthlyPay = basicGrossMonthlyPay + totalAllowances; // Total gross including allowances
-                
-                // Calculate government contributions (based on basic pay only, not including allowances)
-                double pagibig = CalculatePagibig.computeFromWeekly(basicGrossMonthlyPay / 4.0);
-                double philhealth = CalculatePhilhealth.computeFromWeekly(basicGrossMonthlyPay / 4.0);
-                double sss = CalculateSss.computeFromWeekly(basicGrossMonthlyPay / 4.0);
-                double withholdingTax = CalculateWithholdingTax.compute(basicGrossMonthlyPay);
-                
-                // Calculate final amounts
-                double totalDeductions = pagibig + philhealth + sss + withholdingTax;
-                double netMonthlyPay = grossMonthlyPay - totalDeductions; // Use grossMonthlyPay here
-
-                // Create the detailed salary breakdown panel
-                createSalaryBreakdownPanel(startDate, endDate, totalHours, totalOvertime, 
-                    basicGrossMonthlyPay, rice, phone, clothing, totalAllowances,
-                    pagibig, philhealth, sss, withholdingTax, totalDeductions, netMonthlyPay);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException ex) {
+                addMessage("Error calculating salary: " + ex.getCause().getMessage());
+            }
+
+            // Force layout update
+            salaryDisplayPanel.revalidate();
+            salaryDisplayPanel.repaint();
+
+            // Scroll to top to show results
+            SwingUtilities.invokeLater(() -> {
+                salaryScrollPane.getVerticalScrollBar().setValue(0);
+            });
         }
-        
-    } catch (Exception ex) {
+    }
+
+    /**
+     * Replaces the results with a spinner while the salary is being computed.
+     */
+    private void showComputingIndicator(LocalDate startDate) {
+        salaryDisplayPanel.removeAll();
+
+        JPanel progressPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
+        progressPanel.setBackground(Color.WHITE);
+
+        JProgressBar spinner = new JProgressBar();
+        spinner.setIndeterminate(true);
+        spinner.setPreferredSize(new Dimension(120, 16));
+
+        progressPanel.add(new JLabel("Computing salary for " + startDate.getMonth() + " " + startDate.getYear() + "..."));
+        progressPanel.add(spinner);
+        progressPanel.setMaximumSize(new Dimension(Integer.MAX_VALUE, 50));
+
+        salaryDisplayPanel.add(Box.createVerticalStrut(20));
+        salaryDisplayPanel.add(progressPanel);
+        salaryDisplayPanel.revalidate();
+        salaryDisplayPanel.repaint();
+    }
+
+    /**
+     * Adds a red status message (no records, errors) to the results panel.
+     */
+    private void addMessage(String message) {
         // Create error message panel
         JPanel errorPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
         errorPanel.setBackground(Color.WHITE);
-        
-        JLabel errorLabel = new JLabel("Error calculating salary: " + ex.getMessage());
+
+        JLabel errorLabel = new JLabel(message);
         errorLabel.setForeground(Color.RED);
         errorLabel.setFont(new Font("SansSerif", Font.BOLD, 12));
-        
+
         errorPanel.add(errorLabel);
         errorPanel.setMaximumSize(new Dimension(Integer.MAX_VALUE, 50));
-        
+
         salaryDisplayPanel.add(Box.createVerticalStrut(20));
         salaryDisplayPanel.add(errorPanel);
     }
-    
-    // Force layout update
-    salaryDisplayPanel.revalidate();
-    salaryDisplayPanel.repaint();
-    
-    // Scroll to top to show results
-    SwingUtilities.invokeLater(() -> {
-        salaryScrollPane.getVerticalScrollBar().setValue(0);
-    });
-}
 
 /**
  * Creates a detailed salary breakdown panel with all computed values.
  */
-private void createSalaryBreakdownPanel(LocalDate startDate, LocalDate endDate, 
-        double totalHours, double totalOvertime, double basicGrossMonthlyPay,
-        double rice, double phone, double clothing, double totalAllowances,
-        double pagibig, double philhealth, double sss, double withholdingTax,
-        double totalDeductions, double netMonthlyPay) {
+private void createSalaryBreakdownPanel(Payslip payslip) {
+    LocalDate startDate = payslip.getPeriodStart();
 
     // Create main container panel
     JPanel containerPanel = new JPanel();
@@ -415,15 +515,15 @@ private void createSalaryBreakdownPanel(LocalDate startDate, LocalDate endDate,
     JLabel periodLabel = new JLabel("Period:");
     periodLabel.setFont(sectionFont);
     breakdownPanel.add(periodLabel);
-    breakdownPanel.add(new JLabel(startDate + " to " + endDate));
+    breakdownPanel.add(new JLabel(startDate + " to " + payslip.getPeriodEnd()));
 
     // Hours
     breakdownPanel.add(new JLabel("Total Hours Worked:"));
-    breakdownPanel.add(new JLabel(String.format("%.2f hours", totalHours)));
+    breakdownPanel.add(new JLabel(String.format("%.2f hours", payslip.getTotalHours())));
     breakdownPanel.add(new JLabel("Total Overtime Hours:"));
-    breakdownPanel.add(new JLabel(String.format("%.2f hours", totalOvertime)));
+    breakdownPanel.add(new JLabel(String.format("%.2f hours", payslip.getTotalOvertime())));
     breakdownPanel.add(new JLabel("Hourly Rate:"));
-    breakdownPanel.add(new JLabel(String.format("₱%.2f", employee.getHourlyRate())));
+    breakdownPanel.add(new JLabel(String.format("₱%.2f", payslip.getHourlyRate())));
 
     // Basic Pay
     breakdownPanel.add(new JLabel(""));
@@ -431,7 +531,7 @@ private void createSalaryBreakdownPanel(LocalDate startDate, LocalDate endDate,
     JLabel basicPayLabel = new JLabel("Basic Gross Pay:");
     basicPayLabel.setFont(sectionFont);
     breakdownPanel.add(basicPayLabel);
-    JLabel basicPayValue = new JLabel(String.format("₱%.2f", basicGrossMonthlyPay));
+    JLabel basicPayValue = new JLabel(String.format("₱%.2f", payslip.getBasicGrossPay()));
     basicPayValue.setFont(sectionFont);
     breakdownPanel.add(basicPayValue);
 
@@ -443,15 +543,15 @@ private void createSalaryBreakdownPanel(LocalDate startDate, LocalDate endDate,
     breakdownPanel.add(allowancesLabel);
     breakdownPanel.add(new JLabel(""));
     breakdownPanel.add(new JLabel("  Rice Subsidy:"));
-    breakdownPanel.add(new JLabel(String.format("₱%.2f", rice)));
+    breakdownPanel.add(new JLabel(String.format("₱%.2f", payslip.getRiceSubsidy())));
     breakdownPanel.add(new JLabel("  Phone Allowance:"));
-    breakdownPanel.add(new JLabel(String.format("₱%.2f", phone)));
+    breakdownPanel.add(new JLabel(String.format("₱%.2f", payslip.getPhoneAllowance())));
     breakdownPanel.add(new JLabel("  Clothing Allowance:"));
-    breakdownPanel.add(new JLabel(String.format("₱%.2f", clothing)));
+    breakdownPanel.add(new JLabel(String.format("₱%.2f", payslip.getClothingAllowance())));
     JLabel totalAllowLabel = new JLabel("Total Allowances:");
     totalAllowLabel.setFont(sectionFont);
     breakdownPanel.add(totalAllowLabel);
-    JLabel totalAllowValue = new JLabel(String.format("₱%.2f", totalAllowances));
+    JLabel totalAllowValue = new JLabel(String.format("₱%.2f", payslip.getTotalAllowances()));
     totalAllowValue.setFont(sectionFont);
     breakdownPanel.add(totalAllowValue);
 
@@ -463,17 +563,17 @@ private void createSalaryBreakdownPanel(LocalDate startDate, LocalDate endDate,
     breakdownPanel.add(deductionsLabel);
     breakdownPanel.add(new JLabel(""));
     breakdownPanel.add(new JLabel("  SSS Contribution:"));
-    breakdownPanel.add(new JLabel(String.format("₱%.2f", sss)));
+    breakdownPanel.add(new JLabel(String.format("₱%.2f", payslip.getSss())));
     breakdownPanel.add(new JLabel("  PhilHealth Contribution:"));
-    breakdownPanel.add(new JLabel(String.format("₱%.2f", philhealth)));
+    breakdownPanel.add(new JLabel(String.format("₱%.2f", payslip.getPhilhealth())));
     breakdownPanel.add(new JLabel("  Pag-IBIG Contribution:"));
-    breakdownPanel.add(new JLabel(String.format("₱%.2f", pagibig)));
+    breakdownPanel.add(new JLabel(String.format("₱%.2f", payslip.getPagibig())));
     breakdownPanel.add(new JLabel("  Withholding Tax:"));
-    breakdownPanel.add(new JLabel(String.format("₱%.2f", withholdingTax)));
+    breakdownPanel.add(new JLabel(String.format("₱%.2f", payslip.getWithholdingTax())));
     JLabel totalDeductLabel = new JLabel("Total Deductions:");
     totalDeductLabel.setFont(sectionFont);
     breakdownPanel.add(totalDeductLabel);
-    JLabel totalDeductValue = new JLabel(String.format("₱%.2f", totalDeductions));
+    JLabel totalDeductValue = new JLabel(String.format("₱%.2f", payslip.getTotalDeductions()));
     totalDeductValue.setFont(sectionFont);
     breakdownPanel.add(totalDeductValue);
 
@@ -483,7 +583,7 @@ private void createSalaryBreakdownPanel(LocalDate startDate, LocalDate endDate,
     JLabel netPayLabel = new JLabel("NET MONTHLY PAY:");
     netPayLabel.setFont(boldFont);
     netPayLabel.setForeground(new Color(0, 128, 0));
-    JLabel netPayValue = new JLabel(String.format("₱%.2f", netMonthlyPay));
+    JLabel netPayValue = new JLabel(String.format("₱%.2f", payslip.getNetPay()));
     netPayValue.setFont(boldFont);
     netPayValue.setForeground(new Color(0, 128, 0));
     breakdownPanel.add(netPayLabel);
@@ -0,0 +1,145 @@
+package gui;
+
+import java.util.List;
+
+import javax.swing.table.AbstractTableModel;
+
+import dataLoader.EmployeeRepository;
+import models.EmployeeProfile;
+
+/**
+ * EmployeeTableModel.java
+ * Table model that reads employee rows straight from an {@link EmployeeRepository}
+ * instead of copying every field into its own row vectors. Model rows are repository
+ * rows, and changes made through this model fire events for the affected row only,
+ * so an edit repaints one row instead of rebuilding and re-sorting the whole table.
+ */
+public class EmployeeTableModel extends AbstractTableModel {
+
+    private static final String[] COLUMN_NAMES = {
+        "Employee Number", "Last Name", "First Name",
+        "SSS Number", "PhilHealth Number", "TIN Number", "Pag-IBIG Number"
+    };
+
+    private EmployeeRepository employees;
+
+    /**
+     * Creates a table model over the given repository.
+     * @param employees The employees to display.
+     */
+    public EmployeeTableModel(EmployeeRepository employees) {
+        this.employees = employees;
+    }
+
+    /**
+     * Replaces the displayed repository, for example after reloading the master file.
+     * This is the only change that refreshes the whole table.
+     * @param employees The employees to display.
+     */
+    public void setRepository(EmployeeRepository employees) {
+        this.employees = employees;
+        fireTableDataChanged();
+    }
+
+    public EmployeeRepository getRepository() { return employees; }
+
+    /**
+     * Returns the employee shown at a model row.
+     * @param row Model row (not view row).
+     */
+    public EmployeeProfile getEmployeeAt(int row) { return employees.get(row); }
+
+    /**
+     * Adds an employee to the repository and inserts its row.
+     * @param employee The new employee.
+     * @return The model row of the new employee.
+     */
+    public int addEmployee(EmployeeProfile employee) {
+        int row = employees.add(employee);
+        fireTableRowsInserted(row, row);
+        return row;
+    }
+
+    /**
+     * Appends a batch of employees and inserts their rows with a single event.
+     * Employees whose number is already present are skipped.
+     * @param batch The new employees, in display order.
+     * @return The number of rows inserted.
+     */
+    public int addEmployees(List<EmployeeProfile> batch) {
+        int first = employees.size();
+        for (EmployeeProfile employee : batch) {
+            if (employees.contains(employee.getEmployeeNumber())) {
+                System.err.println("Skipping duplicate employee number: " + employee.getEmployeeNumber());
+                continue;
+            }
+            employees.add(employee);
+        }
+        int last = employees.size() - 1;
+        if (last >= first) {
+            fireTableRowsInserted(first, last);
+        }
+        return last - first + 1;
+    }
+
+    /**
+     * Replaces the employee with the same number and repaints its row.
+     * @param employee The updated employee.
+     * @return The model row of the employee, or -1 if it is not in the repository.
+     */
+    public int updateEmployee(EmployeeProfile employee) {
+        int row = employees.update(employee);
+        if (row >= 0) {
+            fireTableRowsUpdated(row, row);
+        }
+        return row;
+    }
+
+    /**
+     * Removes an employee from the repository and deletes its row.
+     * @param employeeNumber The employee number to remove.
+     * @return The model row the employee occupied, or -1 if it was not in the repository.
+     */
+    public int removeEmployee(String employeeNumber) {
+        int row = employees.remove(employeeNumber);
+        if (row >= 0) {
+            fireTableRowsDeleted(row, row);
+        }
+        return row;
+    }
+
+    @Override
+    public int getRowCount() {
+        return employees.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMN_NAMES.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMN_NAMES[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return String.class;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        EmployeeProfile employee = employees.get(row);
+        switch (column) {
+            case 0: return employee.getEmployeeNumber();
+            case 1: return employee.getLastName();
+            case 2: return employee.getFirstName();
+            case 3: return employee.getSssNumber();
+            case 4: return employee.getPhilhealthNumber();
+            case 5: return employee.getTinNumber();
+            case 6: return employee.getPagibigNumber();
+            default: throw new IndexOutOfBoundsException("No column " + column);
+        }
+    }
+}
@@ -9,6 +9,7 @@ import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
 
 import javax.swing.JButton;
 import javax.swing.JFrame;
@@ -18,6 +19,12 @@ import javax.swing.JPanel;
 import javax.swing.JPasswordField;
 import javax.swing.JTextField;
 import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
+
+import metrics.Counter;
+import metrics.LoginEvent;
+import metrics.Metrics;
+import metrics.Timer;
 
 public class LoginGUI extends JFrame {
     private final JTextField usernameField;
@@ -25,6 +32,14 @@ public class LoginGUI extends JFrame {
     private final Map<String, String> credentialsMap = new HashMap<>();
     private final String employeeFile = "src/main/resources/User.csv";
 
+    private static final Timer CREDENTIALS_TIMER = Metrics.timer("gui.credentials.load");
+    private static final Counter LOGINS = Metrics.counter("gui.login.success");
+    private static final Counter FAILED_LOGINS = Metrics.counter("gui.login.failure");
+    private static final Counter CREDENTIAL_ERRORS = Metrics.counter("gui.credentials.errors");
+    private JButton loginButton;
+    private boolean credentialsLoaded;   // Set on the EDT once the background load finishes
+    private boolean loginPending;        // Login pressed before the credentials were loaded
+
     public LoginGUI() {
         setTitle("Employee Login");
         setDefaultCloseOperation(EXIT_ON_CLOSE);
@@ -32,8 +47,9 @@ public class LoginGUI extends JFrame {
         setLocationRelativeTo(null);
         setResizable(false);
 
-        // Load credentials
-        loadCredentialsFromCSV();
+        // Load credentials in the background so the window is usable immediately
+        credentialsMap.put("admin", "1234"); // Admin access
+        loadCredentialsInBackground();
 
         // GUI layout
         JPanel panel = new JPanel(new GridBagLayout());
@@ -77,7 +93,7 @@ public class LoginGUI extends JFrame {
         gbc.gridy = 3;
         gbc.gridwidth = 2;
         gbc.anchor = GridBagConstraints.CENTER;
-        JButton loginButton = new JButton("Login");
+        loginButton = new JButton("Login");
         panel.add(loginButton, gbc);
 
         // Forgot Password button
@@ -104,8 +120,47 @@ public class LoginGUI extends JFrame {
 
     }
 
-        private void loadCredentialsFromCSV() {
-        credentialsMap.put("admin", "1234"); // Admin access
+    /**
+     * Reads the user file on a background thread and merges the credentials into the map
+     * on the EDT when done. A login attempted before then is completed automatically.
+     */
+    private void loadCredentialsInBackground() {
+        new SwingWorker<Map<String, String>, Void>() {
+            @Override
+            protected Map<String, String> doInBackground() throws Exception {
+                long start = CREDENTIALS_TIMER.start();
+                try {
+                    return loadCredentialsFromCSV();
+                } finally {
+                    CREDENTIALS_TIMER.stop(start);
+                }
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    credentialsMap.putAll(get());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    JOptionPane.showMessageDialog(LoginGUI.this,
+                        "Failed to load employee data.\n" + e.getCause().getMessage(),
+                        "File Error", JOptionPane.ERROR_MESSAGE);
+                }
+                credentialsLoaded = true;
+                loginButton.setEnabled(true);
+                loginButton.setText("Login");
+                if (loginPending) {
+                    loginPending = false;
+                    attemptLogin();
+                }
+            }
+        }.execute();
+    }
+
+    // Runs off the EDT: builds employee number -> password (birthday as MMddyyyy)
+    private Map<String, String> loadCredentialsFromCSV() throws Exception {
+        Map<String, String> credentials = new HashMap<>();
 
         try (BufferedReader reader = new BufferedReader(new FileReader(employeeFile))) {
             String line;
@@ -129,18 +184,16 @@ public class LoginGUI extends JFrame {
                         try {
                             LocalDate birthday = LocalDate.parse(birthdayRaw, inputFormatter);
                             String formattedPassword = birthday.format(passwordFormatter); // MMddyyyy
-                            credentialsMap.put(employeeNumber, formattedPassword);
+                            credentials.put(employeeNumber, formattedPassword);
                         } catch (Exception e) {
+                            CREDENTIAL_ERRORS.increment();
                             System.err.println("Invalid birthday format for employee " + employeeNumber + ": " + birthdayRaw);
                         }
                     }
                 }
             }
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this,
-                "Failed to load employee data.\n" + e.getMessage(),
-                "File Error", JOptionPane.ERROR_MESSAGE);
         }
+        return credentials;
     }
 
 
@@ -157,27 +210,51 @@ public class LoginGUI extends JFrame {
 
         // Admin login
         if (enteredUser.equals("admin") && enteredPass.equals("1234")) {
+            LOGINS.increment();
+            recordLogin(enteredUser, true);
             JOptionPane.showMessageDialog(this, "Admin login successful!", "Welcome Admin", JOptionPane.INFORMATION_MESSAGE);
             SwingUtilities.invokeLater(() -> new PayrollGUI("admin").setVisible(true));
             dispose();
             return;
         }
 
-        // Regular employee login
+        // Regular employee login needs the credentials file; finish the login once it is loaded
+        if (!credentialsLoaded) {
+            loginPending = true;
+            loginButton.setEnabled(false);
+            loginButton.setText("Loading...");
+            return;
+        }
+
         if (credentialsMap.containsKey(enteredUser)) {
             String expectedPass = credentialsMap.get(enteredUser);
             if (enteredPass.equals(expectedPass)) {
+                LOGINS.increment();
+                recordLogin(enteredUser, true);
                 JOptionPane.showMessageDialog(this, "Login successful!", "Welcome", JOptionPane.INFORMATION_MESSAGE);
                 SwingUtilities.invokeLater(() -> new PayrollGUI(enteredUser).setVisible(true));
                 dispose();
             } else {
+                FAILED_LOGINS.increment();
+                recordLogin(enteredUser, false);
                 JOptionPane.showMessageDialog(this, "Incorrect password (birthday).", "Login Failed", JOptionPane.ERROR_MESSAGE);
             }
         } else {
+            FAILED_LOGINS.increment();
+            recordLogin(enteredUser, false);
             JOptionPane.showMessageDialog(this, "Employee number not found.", "Login Failed", JOptionPane.ERROR_MESSAGE);
         }
     }
 
+    // Emits a flight recorder event for the attempt; the password is never recorded
+    private static void recordLogin(String user, boolean success) {
+        LoginEvent event = new LoginEvent();
+        event.user = user;
+        event.admin = success && user.equals("admin");
+        event.success = success;
+        event.commit();
+    }
+
 
     // Main method
     public static void main(String[] args) {
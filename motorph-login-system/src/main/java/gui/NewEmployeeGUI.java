@@ -1,12 +1,13 @@
 package gui;
 
+import dataLoader.EmployeeMasterFile;
 import dataLoader.LoadEmployeeData;
+import metrics.Metrics;
 import models.EmployeeProfile;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.util.List;
 
@@ -16,15 +17,15 @@ import java.util.List;
  * This class provides a modal dialog interface for adding new employees to the system.
  * The form includes the basic employee information fields as specified in the
  * change request and automatically generates employee numbers to prevent duplicates
- * and ensure consistency. Upon successful submission, the new employee data is
- * appended to the TSV file and the parent employee list is refreshed.
+ * and ensure consistency. Upon successful submission, the new employee is
+ * recorded in the employee change log and added to the parent employee list.
  * 
  * Key Features:
  * - Auto-generates employee numbers for data integrity
  * - Validates all required fields before submission
  * - Provides clear error messages for invalid input
- * - Saves new employee data to the TSV file
- * - Refreshes the parent employee list upon successful addition
+ * - Records new employees in the employee change log (see EmployeeMasterFile)
+ * - Adds the new employee to the parent employee list upon successful addition
  * - Implements proper modal dialog behavior for better user experience
  * 
  * Design Decision: Auto-generated Employee Numbers
@@ -59,6 +60,9 @@ public class NewEmployeeGUI extends JDialog {
     // File path to the employee data source
     private final String employeeFile = "src/main/resources/Employee Details.csv";
 
+    // javax.swing.Timer is also in scope, so the metrics timer is named in full
+    private static final metrics.Timer ADD_TIMER = Metrics.timer("gui.employee.add");
+
     /**
      * Constructor that initializes the New Employee dialog with all necessary components.
      * This method sets up the modal dialog, creates the form fields, generates the next
@@ -313,7 +317,7 @@ public class NewEmployeeGUI extends JDialog {
     }
 
     /**
-     * Validates and saves the new employee information to the TSV file.
+     * Validates and saves the new employee information to the employee change log.
      * This method performs comprehensive validation of all required fields,
      * formats the data properly for TSV storage, and provides appropriate
      * user feedback for both success and error conditions.
@@ -327,11 +331,16 @@ public class NewEmployeeGUI extends JDialog {
         }
         
         try {
-            // Prepare the new employee data in TSV format
-            String newEmployeeRecord = formatEmployeeRecord();
+            // Build the new employee from the form
+            EmployeeProfile newEmployee = createEmployeeRecord();
             
-            // Append the new record to the TSV file
-            appendToTSVFile(newEmployeeRecord);
+            // Record the new employee in the employee change log
+            long start = ADD_TIMER.start();
+            try {
+                EmployeeMasterFile.forFile(employeeFile).recordInsert(newEmployee);
+            } finally {
+                ADD_TIMER.stop(start);
+            }
             
             // Provide success feedback to the user
             JOptionPane.showMessageDialog(this,
@@ -339,9 +348,8 @@ public class NewEmployeeGUI extends JDialog {
                 "Success",
                 JOptionPane.INFORMATION_MESSAGE);
             
-            // Refresh the parent window's employee list
-            String newEmployeeNumber = employeeNumberField.getText().trim(); // Get the generated employee number
-            parentWindow.refreshEmployeeDataAndSelect(newEmployeeNumber);
+            // Show the new employee in the parent window's employee list
+            parentWindow.employeeAdded(newEmployee);
             
             // Close this dialog after successful save
             dispose();
@@ -431,15 +439,14 @@ public class NewEmployeeGUI extends JDialog {
     }
 
     /**
-     * Formats the employee data into a properly structured TSV record.
-     * This method creates a tab-separated string containing only the basic
-     * employee information fields as specified in the change request.
-     * The remaining fields are populated with default or placeholder values
-     * to maintain the existing TSV file structure.
+     * Builds the new employee record from the form fields.
+     * The record contains only the basic employee information fields as specified
+     * in the change request. The remaining fields are populated with default or
+     * placeholder values to maintain the existing TSV file structure.
      * 
-     * @return A formatted TSV string ready for file appending
+     * @return The new employee, ready to be recorded
      */
-    private String formatEmployeeRecord() {
+    private EmployeeProfile createEmployeeRecord() {
         // Extract trimmed values from form fields
         String employeeNumber = employeeNumberField.getText().trim();
         String lastName = lastNameField.getText().trim();
@@ -449,10 +456,10 @@ public class NewEmployeeGUI extends JDialog {
         String tinNumber = tinNumberField.getText().trim();
         String pagibigNumber = pagibigNumberField.getText().trim();
         
-        // Create TSV record with provided data and default values for missing fields
+        // Create the record with provided data and default values for missing fields
         // Note: The remaining fields are set to default values since this form
         // only collects the basic employee information as per change request
-        return String.join("\t",
+        return new EmployeeProfile(
             employeeNumber,           // Employee #
             lastName,                 // Last Name
             firstName,                // First Name
@@ -466,30 +473,12 @@ public class NewEmployeeGUI extends JDialog {
             "Probationary",          // Status (Default for new employees)
             "TBD",                   // Position (To Be Determined)
             "TBD",                   // Immediate Supervisor (To Be Determined)
-            "0",                     // Basic Salary (Default)
-            "0",                     // Rice Subsidy (Default)
-            "0",                     // Phone Allowance (Default)
-            "0",                     // Clothing Allowance (Default)
-            "0",                     // Gross Semi-monthly Rate (Default)
-            "0"                      // Hourly Rate (Default)
+            0,                       // Basic Salary (Default)
+            0,                       // Rice Subsidy (Default)
+            0,                       // Phone Allowance (Default)
+            0,                       // Clothing Allowance (Default)
+            0,                       // Gross Semi-monthly Rate (Default)
+            0                        // Hourly Rate (Default)
         );
     }
-
-    /**
-     * Appends the new employee record to the TSV file using proper file handling.
-     * This method ensures that the new employee data is safely written to the
-     * file system with appropriate error handling and resource management.
-     * 
-     * @param record The formatted TSV record to append to the file
-     * @throws IOException If any file writing operation fails
-     */
-    private void appendToTSVFile(String record) throws IOException {
-        // Use try-with-resources to ensure proper file handle cleanup
-        try (FileWriter writer = new FileWriter(employeeFile, true)) {
-            // Add newline and write the record
-            writer.write("\n" + record);
-            writer.flush(); // Ensure data is written to disk immediately
-        }
-        // FileWriter is automatically closed by try-with-resources
-    }
 }
\ No newline at end of file
@@ -9,11 +9,10 @@ import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.awt.Insets;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.io.PrintWriter;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
 
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
@@ -21,6 +20,7 @@ import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
+import javax.swing.JProgressBar;
 import javax.swing.JScrollPane;
 import javax.swing.JSeparator;
 import javax.swing.JTable;
@@ -28,10 +28,15 @@ import javax.swing.JTextField;
 import javax.swing.ListSelectionModel;
 import javax.swing.SwingConstants;
 import javax.swing.SwingUtilities;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.SwingWorker;
 import javax.swing.table.TableRowSorter;
 
+import dataLoader.DataFileWatcher;
+import dataLoader.EmployeeMasterFile;
+import dataLoader.EmployeeRepository;
 import dataLoader.LoadEmployeeData;
+import metrics.Metrics;
+import metrics.Timer;
 import models.EmployeeProfile;
 
 /**
@@ -49,6 +54,7 @@ import models.EmployeeProfile;
  * - Update and delete existing employee records with confirmation dialogs
  * - Intuitive navigation and user-friendly interface design
  * - Real-time table updates and data synchronization
+ * - Rows appended to the data files by other programs appear without a reload
  * 
  * @author MotorPH Payroll System Team
  * @version 3.0 - Enhanced with employee update and delete functionalities
@@ -56,19 +62,26 @@ import models.EmployeeProfile;
 
 public class PayrollGUI extends JFrame {
     
+    static final String EMPLOYEE_FILE = "src/main/resources/Employee Details.csv";
+
+    private static final Timer LOAD_TIMER = Metrics.timer("gui.employees.load");
+    private static final Timer UPDATE_TIMER = Metrics.timer("gui.employee.update");
+    private static final Timer DELETE_TIMER = Metrics.timer("gui.employee.delete");
     
     /**
      * GUI components used throughout the interface for employee management and display.
      */
     private JTable employeeTable;                    // Main table displaying all employee records
-    private DefaultTableModel tableModel;           // Model for managing table data and updates
+    private EmployeeTableModel tableModel;          // Model reading rows from the employee repository
     private JButton viewEmployeeButton;              // Button to view selected employee details
     private JButton newEmployeeButton;               // Button to create new employee records
     private JButton updateEmployeeButton;            // Button to update selected employee record
     private JButton deleteEmployeeButton;            // Button to delete selected employee record
-    private TableRowSorter<DefaultTableModel> sorter; // Sorter for enabling table column sorting
+    private TableRowSorter<EmployeeTableModel> sorter; // Sorter for enabling table column sorting
     private JButton logoutButton;                  // Button to log out of the system (if needed)
     private String loggedInEmployeeNumber; // NEW FIELD
+    private JLabel statusLabel;                      // Employee count / loading status
+    private JProgressBar loadProgressBar;            // Progress of the background employee load
 
     // Add search components
     private JTextField searchField;                  // Search field for employee number
@@ -89,8 +102,29 @@ public class PayrollGUI extends JFrame {
     /**
      * Data components used for employee management and system operations.
      */
-    private List<EmployeeProfile> employees;         // List of all employees loaded from the system
+    private EmployeeRepository employees;            // All employees loaded from the system, indexed by number
     private EmployeeProfile selectedEmployee;       // Currently selected employee from the table
+    private EmployeeLoader employeeLoader;          // Background load in progress, if any
+    private volatile DataFileWatcher dataWatcher;            // Picks up rows appended to the data files
+    private final EmployeeMasterFile masterFile = EmployeeMasterFile.forFile(EMPLOYEE_FILE);
+    // Compacting the change log rewrites the TSV file; that is not an external change
+    private final EmployeeMasterFile.CompactionListener compactionListener = new EmployeeMasterFile.CompactionListener() {
+        @Override
+        public void masterRewriting() {
+            DataFileWatcher watcher = dataWatcher;
+            if (watcher != null) {
+                watcher.expectWrite(EMPLOYEE_FILE);
+            }
+        }
+
+        @Override
+        public void masterRewritten() {
+            DataFileWatcher watcher = dataWatcher;
+            if (watcher != null) {
+                watcher.acknowledge(EMPLOYEE_FILE);
+            }
+        }
+    };
 
     /**
      * Constructor that initializes the main Employee Management GUI and sets up all components.This method loads employee data from the file system, creates the employee table with
@@ -100,7 +134,7 @@ public class PayrollGUI extends JFrame {
      */
         public PayrollGUI(String employeeNumber) {
             this.loggedInEmployeeNumber = employeeNumber;
-            employees = new ArrayList<>();
+            employees = new EmployeeRepository(List.of());
 
             setTitle("Payroll Management System");
             setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
@@ -110,6 +144,7 @@ public class PayrollGUI extends JFrame {
             layoutComponents();
 
             loadEmployeeData();
+            startDataWatcher();
 
             setSize(1000, 700);
             setMinimumSize(new Dimension(800, 600));
@@ -134,13 +169,9 @@ public class PayrollGUI extends JFrame {
                 if (selectedRow >= 0) {
                     // Convert view row to model row (in case of sorting)
                     int modelRow = employeeTable.convertRowIndexToModel(selectedRow);
-                    String employeeNumber = (String) tableModel.getValueAt(modelRow, 0);
                     
-                    // Find the selected employee
-                    selectedEmployee = employees.stream()
-                        .filter(emp -> emp.getEmployeeNumber().equals(employeeNumber))
-                        .findFirst()
-                        .orElse(null);
+                    // Model rows are repository rows
+                    selectedEmployee = tableModel.getEmployeeAt(modelRow);
                     
                     // Populate editing fields with selected employee data
                     if (selectedEmployee != null) {
@@ -265,30 +296,12 @@ public class PayrollGUI extends JFrame {
     }
 
     /**
-     * Populates the employee table with data from the loaded employee list.
-     * Extracts the required fields from each employee profile and adds them
-     * as rows to the table model for display to the user.
+     * Populates the employee table with data from the loaded employee repository.
+     * The table model reads its rows from the repository, so this only swaps the
+     * repository in and notifies the table once.
      */
     private void setupTableData() {
-        // Clear any existing data in the table before adding new records
-        tableModel.setRowCount(0);
-
-        // Iterate through all loaded employees and add their information to the table
-        for (EmployeeProfile employee : employees) {
-            // Create a row array with the specified employee information fields
-            Object[] rowData = {
-                employee.getEmployeeNumber(),
-                employee.getLastName(),
-                employee.getFirstName(),
-                employee.getSssNumber(),
-                employee.getPhilhealthNumber(),
-                employee.getTinNumber(),
-                employee.getPagibigNumber()
-            };
-            
-            // Add the employee data row to the table model
-            tableModel.addRow(rowData);
-        }
+        tableModel.setRepository(employees);
     }
 
     /**
@@ -439,10 +452,15 @@ public class PayrollGUI extends JFrame {
         statusPanel.setBackground(new Color(240, 240, 240));
         statusPanel.setBorder(BorderFactory.createEmptyBorder(5, 10, 5, 10));
         
-        JLabel statusLabel = new JLabel("Total Employees: " + employees.size());
+        statusLabel = new JLabel("Total Employees: " + employees.size());
         statusLabel.setFont(new Font("SansSerif", Font.PLAIN, 12));
         statusPanel.add(statusLabel);
         
+        loadProgressBar = new JProgressBar(0, 100);
+        loadProgressBar.setStringPainted(true);
+        loadProgressBar.setVisible(false);
+        statusPanel.add(loadProgressBar);
+        
         add(statusPanel, BorderLayout.SOUTH);
     }
 
@@ -482,14 +500,8 @@ public class PayrollGUI extends JFrame {
      * optimal display and interaction with employee data.
      */
     private void initializeTable() {
-        // Define column headers for the employee table
-        String[] columnNames = {
-            "Employee Number", "Last Name", "First Name", 
-            "SSS Number", "PhilHealth Number", "TIN Number", "Pag-IBIG Number"
-        };
-        
-        // Create table model with defined columns
-        tableModel = new DefaultTableModel(columnNames, 0);
+        // Create table model over the employee repository (columns are defined by the model)
+        tableModel = new EmployeeTableModel(employees);
         
         // Create the table with the model
         employeeTable = new JTable(tableModel);
@@ -558,7 +570,7 @@ public class PayrollGUI extends JFrame {
     /**
      * Updates the selected employee record with the data from the editing fields.
      * Validates all required fields, confirms the update operation, and saves
-     * the changes to the TSV file before refreshing the display.
+     * the changes to the TSV file. Only the updated row is repainted.
      */
     private void updateEmployee() {
         if (selectedEmployee == null) {
@@ -596,10 +608,7 @@ public class PayrollGUI extends JFrame {
                 updateEmployeeObject();
                 
                 // Save changes to the TSV file
-                saveEmployeesToFile();
-                
-                // Refresh the table display
-                refreshEmployeeData();
+                saveUpdatedEmployee(selectedEmployee);
                 
                 // Show success message
                 JOptionPane.showMessageDialog(this, 
@@ -653,14 +662,13 @@ public class PayrollGUI extends JFrame {
 
         if (result == JOptionPane.YES_OPTION) {
             try {
-                // Remove the employee from the list
-                employees.removeIf(emp -> emp.getEmployeeNumber().equals(selectedEmployee.getEmployeeNumber()));
+                // Remove the employee and its table row
+                employeeTable.clearSelection();
+                tableModel.removeEmployee(employeeNumber);
+                EmployeeDetailGUI.PAYSLIP_CACHE.invalidateEmployee(employeeNumber);
                 
                 // Save changes to the TSV file
-                saveEmployeesToFile();
-                
-                // Refresh the table display (this will set selectedEmployee to null)
-                refreshEmployeeData();
+                saveDeletedEmployee(employeeNumber);
                 
                 // Show success message using the stored employee information
                 JOptionPane.showMessageDialog(this, 
@@ -720,7 +728,7 @@ public class PayrollGUI extends JFrame {
 
     /**
      * Updates the selected employee record by creating a new EmployeeProfile object
-     * with the updated data and replacing it in the employee list.
+     * with the updated data and replacing it in the employee repository.
      * This method handles the immutable nature of the EmployeeProfile class.
      */
     private void updateEmployeeObject() {
@@ -748,99 +756,158 @@ public class PayrollGUI extends JFrame {
                 selectedEmployee.getHourlyRate() // Keep existing hourly rate
             );
             
-            // Find and replace the employee in the list
-            for (int i = 0; i < employees.size(); i++) {
-                if (employees.get(i).getEmployeeNumber().equals(selectedEmployee.getEmployeeNumber())) {
-                    employees.set(i, updatedEmployee);
-                    selectedEmployee = updatedEmployee; // Update the reference
-                    break;
-                }
+            // Replace the employee in the repository and repaint its row
+            if (tableModel.updateEmployee(updatedEmployee) >= 0) {
+                selectedEmployee = updatedEmployee; // Update the reference
             }
+
+            // Cached payslips were computed from the old record
+            EmployeeDetailGUI.PAYSLIP_CACHE.invalidateEmployee(updatedEmployee.getEmployeeNumber());
         }
     }
 
     /**
-     * Saves the current employee list to the TSV file.
-     * This method writes all employee data back to the file system
-     * to persist any changes made during the session.
+     * Saves an edited employee by appending the change to the employee change log.
+     * The TSV file itself is rewritten later, when the log is compacted in the background.
      * 
-     * @throws IOException if there are issues writing to the file
+     * @param employee The edited employee
+     * @throws IOException if there are issues writing to the change log
      */
-    private void saveEmployeesToFile() throws IOException {
-        File employeeFile = new File("src/main/resources/Employee Details.csv");
-        
-        try (PrintWriter writer = new PrintWriter(new FileWriter(employeeFile))) {
-            // Write the header row
-            writer.println("Employee Number\tLast Name\tFirst Name\tBirthday\tAddress\tPhone Number\t" +
-                          "SSS Number\tPhilHealth Number\tTIN Number\tPag-IBIG Number\tStatus\tPosition\t" +
-                          "Immediate Supervisor\tBasic Salary\tRice Subsidy\tPhone Allowance\t" +
-                          "Clothing Allowance\tGross Semi-monthly Rate\tHourly Rate");
-            
-            // Write each employee's data
-            for (EmployeeProfile employee : employees) {
-                writer.println(String.format("%s\t%s\t%s\t%s\t%s\t%s\t%s\t%s\t%s\t%s\t%s\t%s\t%s\t%.2f\t%.2f\t%.2f\t%.2f\t%.2f\t%.2f",
-                    employee.getEmployeeNumber(),
-                    employee.getLastName(),
-                    employee.getFirstName(),
-                    employee.getBirthday(),
-                    employee.getAddress(),
-                    employee.getPhoneNumber(),
-                    employee.getSssNumber(),
-                    employee.getPhilhealthNumber(),
-                    employee.getTinNumber(),
-                    employee.getPagibigNumber(),
-                    employee.getStatus(),
-                    employee.getPosition(),
-                    employee.getImmediateSupervisor(),
-                    employee.getBasicSalary(),
-                    employee.getRiceSubsidy(),
-                    employee.getPhoneAllowance(),
-                    employee.getClothingAllowance(),
-                    employee.getGrossSemiMonthlyRate(),
-                    employee.getHourlyRate()
-                ));
-            }
+    private void saveUpdatedEmployee(EmployeeProfile employee) throws IOException {
+        long start = UPDATE_TIMER.start();
+        try {
+            masterFile.recordUpdate(employee);
+        } finally {
+            UPDATE_TIMER.stop(start);
+        }
+    }
+
+    /**
+     * Saves a deletion by appending it to the employee change log.
+     * 
+     * @param employeeNumber Number of the deleted employee
+     * @throws IOException if there are issues writing to the change log
+     */
+    private void saveDeletedEmployee(String employeeNumber) throws IOException {
+        long start = DELETE_TIMER.start();
+        try {
+            masterFile.recordDelete(employeeNumber);
+        } finally {
+            DELETE_TIMER.stop(start);
         }
     }
 
     /**
      * Loads employee data from the TSV file into the application.
-     * This method reads the employee details file and populates the employees list
-     * with EmployeeProfile objects for display and management.
+     * The file is parsed on a background thread and rows are appended to the table
+     * in batches as they arrive, so the window stays responsive while it loads.
      */
     private void loadEmployeeData() {
-        try {
-            String employeeFilePath = "src\\main\\resources/Employee Details.csv";
-            List<EmployeeProfile> allEmployees = LoadEmployeeData.loadFromFile(employeeFilePath);
-
-            // If logged in as admin, show all employees
-            if ("admin".equalsIgnoreCase(loggedInEmployeeNumber)) {
-                this.employees = allEmployees;
-            } else {
-                // Only include the logged-in employee's record
-                this.employees = allEmployees.stream()
-                    .filter(emp -> emp.getEmployeeNumber().equals(loggedInEmployeeNumber))
-                    .toList();
+        loadEmployeeData(null);
+    }
+
+    /**
+     * Starts a background load of the employee file, replacing the current table contents.
+     * Any load still in progress is cancelled first.
+     * 
+     * @param employeeNumberToSelect Employee to select once loading finishes, or null
+     */
+    private void loadEmployeeData(String employeeNumberToSelect) {
+        if (employeeLoader != null) {
+            employeeLoader.cancel(true);
+        }
+
+        employees = new EmployeeRepository(List.of());
+        refreshEmployeeData();
+
+        statusLabel.setText("Loading employees...");
+        loadProgressBar.setValue(0);
+        loadProgressBar.setVisible(true);
+
+        employeeLoader = new EmployeeLoader(employeeNumberToSelect);
+        employeeLoader.addPropertyChangeListener(e -> {
+            if ("progress".equals(e.getPropertyName()) && e.getSource() == employeeLoader) {
+                loadProgressBar.setValue((Integer) e.getNewValue());
             }
+        });
+        updateButtonStates();
+        employeeLoader.execute();
+    }
 
-            refreshEmployeeData();
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this,
-                    "Error loading employee data:\n" + e.getMessage() +
-                            "\n\nThe application will start with an empty employee list.",
-                    "Data Loading Error",
-                    JOptionPane.WARNING_MESSAGE);
-
-            employees = new ArrayList<>();
-            refreshEmployeeData();
+    /**
+     * Background task that parses the employee file off the EDT and publishes employees
+     * in batches. Admins see every employee; other users only see their own record.
+     */
+    private class EmployeeLoader extends SwingWorker<Integer, EmployeeProfile> {
+        private final String employeeNumberToSelect;
+        private final long started = LOAD_TIMER.start();
+
+        EmployeeLoader(String employeeNumberToSelect) {
+            this.employeeNumberToSelect = employeeNumberToSelect;
+        }
+
+        @Override
+        protected Integer doInBackground() {
+            boolean showAll = "admin".equalsIgnoreCase(loggedInEmployeeNumber);
+            long fileSize = Math.max(1, new File(EMPLOYEE_FILE).length());
+            int[] loaded = {0};
+
+            LoadEmployeeData.loadFromFile(EMPLOYEE_FILE, employee -> {
+                if (isCancelled()) {
+                    throw new CancellationException();
+                }
+                if (showAll || employee.getEmployeeNumber().equals(loggedInEmployeeNumber)) {
+                    publish(employee);
+                    loaded[0]++;
+                }
+            }, bytesRead -> setProgress((int) Math.min(100, bytesRead * 100 / fileSize)));
+
+            return loaded[0];
+        }
+
+        @Override
+        protected void process(List<EmployeeProfile> batch) {
+            if (isCancelled() || this != employeeLoader) {
+                return;
+            }
+            tableModel.addEmployees(batch);
+            statusLabel.setText("Loading employees... " + employees.size());
+        }
+
+        @Override
+        protected void done() {
+            if (isCancelled() || this != employeeLoader) {
+                return;
+            }
+            employeeLoader = null;
+            updateButtonStates();
+            LOAD_TIMER.stop(started);
+            loadProgressBar.setVisible(false);
+            statusLabel.setText("Total Employees: " + employees.size());
+
+            try {
+                get();
+                if (employeeNumberToSelect != null) {
+                    selectEmployeeByNumber(employeeNumberToSelect);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                JOptionPane.showMessageDialog(PayrollGUI.this,
+                        "Error loading employee data:\n" + e.getCause().getMessage() +
+                                "\n\nThe application will start with an empty employee list.",
+                        "Data Loading Error",
+                        JOptionPane.WARNING_MESSAGE);
+            }
         }
     }
 
 
     /**
      * Refreshes the employee data display by reloading the table model.
-     * This method updates the table with the current employee list and
-     * clears any selected employee and editing fields.
+     * This method updates the table with the current employee repository and
+     * clears any selected employee and editing fields. Single-record edits use
+     * the table model's row-level updates instead.
      */
     private void refreshEmployeeData() {
         // Check if table model is initialized
@@ -850,22 +917,8 @@ public class PayrollGUI extends JFrame {
             return;
         }
         
-        // Clear the table model
-        tableModel.setRowCount(0);
-        
-        // Add all employees to the table
-        for (EmployeeProfile employee : employees) {
-            Object[] rowData = {
-                employee.getEmployeeNumber(),
-                employee.getLastName(),
-                employee.getFirstName(),
-                employee.getSssNumber(),
-                employee.getPhilhealthNumber(),
-                employee.getTinNumber(),
-                employee.getPagibigNumber()
-            };
-            tableModel.addRow(rowData);
-        }
+        // Point the table model at the current repository
+        tableModel.setRepository(employees);
         
         // Clear selection and editing fields
         selectedEmployee = null;
@@ -880,58 +933,117 @@ public class PayrollGUI extends JFrame {
     }
 
     /**
-     * Refreshes the employee data and selects the specified employee in the table.
-     * This method is called after adding a new employee to update the display
-     * and automatically select the newly added employee for user convenience.
+     * Shows an employee that was just added and selects it in the table.
+     * This method is called after adding a new employee; the employee has already
+     * been recorded in the change log, so only its row is inserted, without reloading
+     * the file.
      * 
-     * @param employeeNumber The employee number of the employee to select after refresh
+     * @param employee The newly added employee
      */
-    public void refreshEmployeeDataAndSelect(String employeeNumber) {
+    public void employeeAdded(EmployeeProfile employee) {
+        if (!employees.contains(employee.getEmployeeNumber())) {
+            tableModel.addEmployee(employee);
+            statusLabel.setText("Total Employees: " + employees.size());
+        }
+        selectEmployeeByNumber(employee.getEmployeeNumber());
+    }
+
+    /**
+     * Starts watching the employee and attendance files for changes made outside this window.
+     * Appended employees are added to the table; a rewritten employee file is reloaded.
+     * Appended attendance rows are merged into the attendance index by the watcher itself.
+     */
+    private void startDataWatcher() {
         try {
-            // Reload employee data from file using String path
-            String employeeFilePath = "src\\main\\resources/Employee Details.csv";
-            employees = LoadEmployeeData.loadFromFile(employeeFilePath);
-            
-            // Refresh the table display
-            refreshEmployeeData();
-            
-            // Find and select the specified employee
-            selectEmployeeByNumber(employeeNumber);
-            
-        } catch (Exception e) {
-            // Handle any errors during refresh
-            JOptionPane.showMessageDialog(this, 
-                "Error refreshing employee data:\n" + e.getMessage(), 
-                "Refresh Error", 
-                JOptionPane.ERROR_MESSAGE);
+            dataWatcher = new DataFileWatcher(EmployeeDetailGUI.attendanceFile, EMPLOYEE_FILE);
+        } catch (IOException e) {
+            System.err.println("File watching unavailable, data will refresh on reload only: " + e.getMessage());
+            return;
         }
+
+        dataWatcher.addListener(new DataFileWatcher.Listener() {
+            @Override
+            public void employeesAppended(List<EmployeeProfile> appended) {
+                SwingUtilities.invokeLater(() -> {
+                    boolean showAll = "admin".equalsIgnoreCase(loggedInEmployeeNumber);
+                    List<EmployeeProfile> visible = appended.stream()
+                        .filter(emp -> showAll || emp.getEmployeeNumber().equals(loggedInEmployeeNumber))
+                        .filter(emp -> !employees.contains(emp.getEmployeeNumber()))
+                        .toList();
+                    tableModel.addEmployees(visible);
+                    if (employeeLoader == null) {
+                        statusLabel.setText("Total Employees: " + employees.size());
+                    }
+                });
+            }
+
+            @Override
+            public void employeesRewritten() {
+                SwingUtilities.invokeLater(() -> loadEmployeeData(
+                    selectedEmployee == null ? null : selectedEmployee.getEmployeeNumber()));
+            }
+
+            @Override
+            public void attendanceAppended(int rowCount) {
+                SwingUtilities.invokeLater(() -> statusLabel.setText(
+                    "Total Employees: " + employees.size() + "    (" + rowCount + " new attendance records)"));
+            }
+        });
+        masterFile.addCompactionListener(compactionListener);
+        dataWatcher.start();
+    }
+
+    /**
+     * Stops background work owned by this window before closing it.
+     */
+    @Override
+    public void dispose() {
+        if (employeeLoader != null) {
+            employeeLoader.cancel(true);
+            employeeLoader = null;
+        }
+        if (dataWatcher != null) {
+            try {
+                dataWatcher.close();
+            } catch (IOException e) {
+                System.err.println("Error stopping file watcher: " + e.getMessage());
+            }
+            dataWatcher = null;
+        }
+        masterFile.removeCompactionListener(compactionListener);
+        if (masterFile.getPendingChanges() > 0) {
+            masterFile.compactInBackground();
+        }
+        super.dispose();
     }
 
     /**
      * Selects an employee in the table by their employee number.
-     * This method searches for the employee and selects them in the table,
-     * which automatically populates the editing fields through the selection listener.
+     * The model row comes from the repository index (table rows are added in repository
+     * order), and selecting it automatically populates the editing fields through the
+     * selection listener.
      * 
      * @param employeeNumber The employee number to search for and select
      */
     private void selectEmployeeByNumber(String employeeNumber) {
-        // Search through the table model to find the employee
-        for (int row = 0; row < tableModel.getRowCount(); row++) {
-            String tableEmployeeNumber = (String) tableModel.getValueAt(row, 0);
-            if (employeeNumber.equals(tableEmployeeNumber)) {
-                // Convert model row to view row (in case of sorting)
-                int viewRow = employeeTable.convertRowIndexToView(row);
-                
-                // Select the row in the table
-                employeeTable.setRowSelectionInterval(viewRow, viewRow);
-                
-                // Scroll to make the selected row visible
-                employeeTable.scrollRectToVisible(employeeTable.getCellRect(viewRow, 0, true));
-                
-                // The selection listener will automatically set selectedEmployee and populate fields
-                break;
-            }
+        int row = employees.indexOf(employeeNumber);
+        if (row < 0 || row >= tableModel.getRowCount()) {
+            return;
+        }
+
+        // Convert model row to view row (in case of sorting)
+        int viewRow = employeeTable.convertRowIndexToView(row);
+        if (viewRow < 0) {
+            return; // Filtered out of the view
         }
+
+        // Select the row in the table
+        employeeTable.setRowSelectionInterval(viewRow, viewRow);
+
+        // Scroll to make the selected row visible
+        employeeTable.scrollRectToVisible(employeeTable.getCellRect(viewRow, 0, true));
+
+        // The selection listener will automatically set selectedEmployee and populate fields
     }
 
     /**
@@ -952,14 +1064,8 @@ public class PayrollGUI extends JFrame {
             return;
         }
         
-        // Search for the employee
-        EmployeeProfile foundEmployee = null;
-        for (EmployeeProfile employee : employees) {
-            if (employee.getEmployeeNumber().equals(searchNumber)) {
-                foundEmployee = employee;
-                break;
-            }
-        }
+        // Look up the employee
+        EmployeeProfile foundEmployee = employees.findByNumber(searchNumber);
         
         // Handle search results
         if (foundEmployee != null) {
@@ -992,23 +1098,7 @@ public class PayrollGUI extends JFrame {
      * @param employee The employee to select in the table
      */
     private void selectEmployeeInTable(EmployeeProfile employee) {
-        // Find the employee in the table model
-        for (int row = 0; row < tableModel.getRowCount(); row++) {
-            String tableEmployeeNumber = (String) tableModel.getValueAt(row, 0);
-            if (employee.getEmployeeNumber().equals(tableEmployeeNumber)) {
-                // Convert model row to view row (in case of sorting)
-                int viewRow = employeeTable.convertRowIndexToView(row);
-                
-                // Select the row in the table
-                employeeTable.setRowSelectionInterval(viewRow, viewRow);
-                
-                // Scroll to make the selected row visible
-                employeeTable.scrollRectToVisible(employeeTable.getCellRect(viewRow, 0, true));
-                
-                // The selection listener will automatically populate the editing fields
-                break;
-            }
-        }
+        selectEmployeeByNumber(employee.getEmployeeNumber());
     }
 
     /**
@@ -1027,6 +1117,8 @@ public class PayrollGUI extends JFrame {
     /**
      * Updates the state of action buttons based on whether an employee is selected.
      * Enables or disables buttons appropriately to prevent invalid operations.
+     * Editing stays disabled while employees are loading, because the table is
+     * still being filled and a reload would discard the change from view.
      */
     private void updateButtonStates() {
     boolean hasSelection = (selectedEmployee != null);
@@ -1046,8 +1138,9 @@ public class PayrollGUI extends JFrame {
         }
     }
 
-    newEmployeeButton.setEnabled(hasSelection && hasEditAccess);;
-    updateEmployeeButton.setEnabled(hasSelection && hasEditAccess);
-    deleteEmployeeButton.setEnabled(hasSelection && hasEditAccess);
+    boolean loading = (employeeLoader != null);
+    newEmployeeButton.setEnabled(hasSelection && hasEditAccess && !loading);
+    updateEmployeeButton.setEnabled(hasSelection && hasEditAccess && !loading);
+    deleteEmployeeButton.setEnabled(hasSelection && hasEditAccess && !loading);
     }
 }
\ No newline at end of file
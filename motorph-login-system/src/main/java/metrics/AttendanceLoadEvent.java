@@ -0,0 +1,27 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for loading the attendance record file into memory.
+ */
+@Name("motorph.AttendanceLoad")
+@Label("Attendance Load")
+@Category({"MotorPH", "Data"})
+@Description("Attendance record file loaded from its binary snapshot or parsed from text")
+public class AttendanceLoadEvent extends Event {
+
+    @Label("File")
+    public String file;
+
+    @Label("Rows")
+    public int rows;
+
+    @Label("From Snapshot")
+    @Description("True if the binary snapshot was mapped instead of parsing the text")
+    public boolean fromSnapshot;
+}
@@ -0,0 +1,37 @@
+package metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counter.java
+ * A count of events, backed by a LongAdder so that threads incrementing it at the same
+ * time do not contend on one memory location.
+ */
+public class Counter implements CounterMXBean {
+
+    private final String name;
+    private final LongAdder count = new LongAdder();
+
+    Counter(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Adds one to the counter.
+     */
+    public void increment() {
+        count.increment();
+    }
+
+    /**
+     * Adds the given amount to the counter.
+     */
+    public void add(long amount) {
+        count.add(amount);
+    }
+
+    public String getName() { return name; }
+
+    @Override
+    public long getCount() { return count.sum(); }
+}
@@ -0,0 +1,8 @@
+package metrics;
+
+/**
+ * JMX view of a {@link Counter}.
+ */
+public interface CounterMXBean {
+    long getCount();
+}
@@ -0,0 +1,23 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for reading the employee master file with its change log replayed.
+ */
+@Name("motorph.EmployeeMasterLoad")
+@Label("Employee Master Load")
+@Category({"MotorPH", "Data"})
+@Description("Employee details file read with the change log replayed on top")
+public class EmployeeMasterLoadEvent extends Event {
+
+    @Label("File")
+    public String file;
+
+    @Label("Employees")
+    public int employees;
+}
@@ -0,0 +1,32 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for a change to the employee master file: one logged insert,
+ * update or delete, or a rewrite of the whole file.
+ */
+@Name("motorph.EmployeeMasterSave")
+@Label("Employee Master Save")
+@Category({"MotorPH", "Data"})
+@Description("Employee change appended to the change log, or the master file rewritten")
+public class EmployeeMasterSaveEvent extends Event {
+
+    @Label("File")
+    public String file;
+
+    @Label("Operation")
+    @Description("INSERT, UPDATE or DELETE for a logged change, REWRITE for the whole file")
+    public String operation;
+
+    @Label("Employee Number")
+    @Description("The changed employee; empty for a rewrite")
+    public String employeeNumber;
+
+    @Label("Rows Written")
+    public int rows;
+}
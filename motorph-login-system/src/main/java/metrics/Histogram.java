@@ -0,0 +1,133 @@
+package metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram.java
+ * Distribution of non-negative long values (sizes, durations in nanoseconds) recorded
+ * without locks or allocation, for percentiles per operation.
+ *
+ * Values are counted in log-linear buckets like HdrHistogram's: values below 16 get a
+ * bucket each, and every power of two above that is split into 16 equal buckets, so a
+ * reported percentile is within 1/16 (6.25%) of the true value. The whole long range fits
+ * in 960 buckets. Count and sum are kept in LongAdders, the maximum in a LongAccumulator.
+ */
+public class Histogram implements HistogramMXBean {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (63 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final String name;
+    // Divisor applied to values when they are reported (1e3 turns nanoseconds into microseconds)
+    private final double scale;
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    Histogram(String name) {
+        this(name, 1);
+    }
+
+    Histogram(String name, double scale) {
+        this.name = name;
+        this.scale = scale;
+    }
+
+    /**
+     * Records one value. Negative values are recorded as zero.
+     * @param value The value.
+     */
+    public void record(long value) {
+        if (value < 0) value = 0;
+        buckets.incrementAndGet(bucket(value));
+        count.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * Returns the value below which the given fraction of recorded values fall, in
+     * reporting units, or 0 if nothing was recorded.
+     * @param quantile The fraction, for example 0.99.
+     */
+    public double percentile(double quantile) {
+        long total = 0;
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                // Middle of the bucket, but never above the largest value seen
+                long middle = lowerBound(i) + (width(i) - 1) / 2;
+                return Math.min(middle, max.get()) / scale;
+            }
+        }
+        return max.get() / scale;
+    }
+
+    public String getName() { return name; }
+
+    @Override
+    public long getCount() { return count.sum(); }
+
+    /**
+     * Returns the sum of all recorded values, in reporting units.
+     */
+    public double getSum() { return sum.sum() / scale; }
+
+    @Override
+    public double getMean() {
+        long n = count.sum();
+        return n == 0 ? 0 : sum.sum() / scale / n;
+    }
+
+    @Override
+    public double getP50() { return percentile(0.50); }
+
+    @Override
+    public double getP90() { return percentile(0.90); }
+
+    @Override
+    public double getP99() { return percentile(0.99); }
+
+    @Override
+    public double getMax() { return max.get() / scale; }
+
+    static int bucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BUCKET_BITS)) - SUB_BUCKETS;
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    static long lowerBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long sub = bucket % SUB_BUCKETS;
+        return (SUB_BUCKETS + sub) << (exponent - SUB_BUCKET_BITS);
+    }
+
+    static long width(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return 1;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        return 1L << (exponent - SUB_BUCKET_BITS);
+    }
+}
@@ -0,0 +1,13 @@
+package metrics;
+
+/**
+ * JMX view of a {@link Histogram}. Timers report their values in microseconds.
+ */
+public interface HistogramMXBean {
+    long getCount();
+    double getMean();
+    double getP50();
+    double getP90();
+    double getP99();
+    double getMax();
+}
@@ -0,0 +1,26 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for a login attempt. The password is never recorded.
+ */
+@Name("motorph.Login")
+@Label("Login")
+@Category({"MotorPH", "GUI"})
+@Description("Login attempt from the login window")
+public class LoginEvent extends Event {
+
+    @Label("User")
+    public String user;
+
+    @Label("Admin")
+    public boolean admin;
+
+    @Label("Success")
+    public boolean success;
+}
@@ -0,0 +1,161 @@
+package metrics;
+
+import dataLoader.AtomicFile;
+import dataLoader.TsvWriter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Metrics.java
+ * Process-wide registry of named counters, timers and histograms for the loaders,
+ * payroll calculations, persistence and GUI actions. Metrics are created on first use
+ * and recording is lock-free, so instrumented code looks a metric up once and keeps it
+ * in a static field.
+ *
+ * Metrics can be read in two ways:
+ *   - {@link #dump(Path)} writes every metric as a TSV table (count, mean, p50, p90, p99, max).
+ *     Starting the JVM with -Dmotorph.metrics.dump=FILE dumps to FILE at exit.
+ *   - {@link #enableJmx()} registers each metric as an MXBean under "motorph:type=...,name=...".
+ *     Starting the JVM with -Dmotorph.metrics.jmx=true enables it on first use.
+ */
+public class Metrics {
+
+    public static final String DUMP_PROPERTY = "motorph.metrics.dump";
+    public static final String JMX_PROPERTY = "motorph.metrics.jmx";
+
+    private static final String DUMP_HEADER = "Metric\tType\tCount\tMean\tP50\tP90\tP99\tMax\tUnit";
+
+    private static final Map<String, Object> METRICS = new ConcurrentHashMap<>();
+    private static volatile boolean jmxEnabled;
+
+    static {
+        if (Boolean.getBoolean(JMX_PROPERTY)) {
+            enableJmx();
+        }
+        String dumpFile = System.getProperty(DUMP_PROPERTY);
+        if (dumpFile != null && !dumpFile.isEmpty()) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    dump(Paths.get(dumpFile));
+                } catch (IOException e) {
+                    System.err.println("Error writing metrics to " + dumpFile + ": " + e.getMessage());
+                }
+            }, "metrics-dump"));
+        }
+    }
+
+    /**
+     * Returns the counter with the given name, creating it on first use.
+     */
+    public static Counter counter(String name) {
+        return get(name, Counter.class, () -> new Counter(name));
+    }
+
+    /**
+     * Returns the timer with the given name, creating it on first use.
+     */
+    public static Timer timer(String name) {
+        return get(name, Timer.class, () -> new Timer(name));
+    }
+
+    /**
+     * Returns the histogram with the given name, creating it on first use.
+     */
+    public static Histogram histogram(String name) {
+        return get(name, Histogram.class, () -> new Histogram(name));
+    }
+
+    /**
+     * Registers every metric, now and when created later, with the platform MBean server.
+     */
+    public static synchronized void enableJmx() {
+        if (jmxEnabled) {
+            return;
+        }
+        jmxEnabled = true;
+        METRICS.values().forEach(Metrics::register);
+    }
+
+    /**
+     * Writes all metrics, sorted by name, to a TSV file. The file is replaced atomically
+     * so a reader never sees a partial dump.
+     * @param file The file to write.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void dump(Path file) throws IOException {
+        AtomicFile.write(file, channel -> {
+            TsvWriter writer = new TsvWriter(channel);
+            writer.line(DUMP_HEADER);
+            for (Object metric : new TreeMap<>(METRICS).values()) {
+                writeRow(writer, metric);
+            }
+            writer.flush();
+        });
+    }
+
+    private static void writeRow(TsvWriter writer, Object metric) throws IOException {
+        if (metric instanceof Counter) {
+            Counter counter = (Counter) metric;
+            writer.field(counter.getName()).field("counter").field(counter.getCount())
+                  .field("").field("").field("").field("").field("").field("").endRow();
+            return;
+        }
+        Histogram histogram = (Histogram) metric;
+        writer.field(histogram.getName())
+              .field(histogram instanceof Timer ? "timer" : "histogram")
+              .field(histogram.getCount())
+              .fixed2(histogram.getMean())
+              .fixed2(histogram.getP50())
+              .fixed2(histogram.getP90())
+              .fixed2(histogram.getP99())
+              .fixed2(histogram.getMax())
+              .field(histogram instanceof Timer ? "us" : "")
+              .endRow();
+    }
+
+    private static <T> T get(String name, Class<T> type, Supplier<T> factory) {
+        Object metric = METRICS.get(name);
+        if (metric == null) {
+            synchronized (Metrics.class) {
+                metric = METRICS.get(name);
+                if (metric == null) {
+                    metric = factory.get();
+                    METRICS.put(name, metric);
+                    if (jmxEnabled) {
+                        register(metric);
+                    }
+                }
+            }
+        }
+        if (!type.isInstance(metric)) {
+            throw new IllegalArgumentException("Metric " + name + " is a " + metric.getClass().getSimpleName()
+                    + ", not a " + type.getSimpleName());
+        }
+        return type.cast(metric);
+    }
+
+    private static void register(Object metric) {
+        String type = metric.getClass().getSimpleName();
+        String name = metric instanceof Counter ? ((Counter) metric).getName() : ((Histogram) metric).getName();
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName("motorph:type=" + type + ",name=" + ObjectName.quote(name));
+            if (!server.isRegistered(objectName)) {
+                server.registerMBean(metric, objectName);
+            }
+        } catch (JMException e) {
+            System.err.println("Error registering metric " + name + " with JMX: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for computing one employee's pay for a month, from looking up the
+ * attendance to the finished payslip.
+ */
+@Name("motorph.PayComputation")
+@Label("Pay Computation")
+@Category({"MotorPH", "Payroll"})
+@Description("One employee's monthly payslip computed from attendance")
+public class PayComputationEvent extends Event {
+
+    @Label("Employee Number")
+    public String employeeNumber;
+
+    @Label("Period")
+    @Description("Pay month as YYYY-MM")
+    public String period;
+
+    @Label("Attendance Rows")
+    public int rows;
+
+    @Label("Cached")
+    @Description("True if the payslip came from the payslip cache")
+    public boolean cached;
+}
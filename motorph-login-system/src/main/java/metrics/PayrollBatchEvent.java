@@ -0,0 +1,27 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for one batch of a company-wide payroll run.
+ */
+@Name("motorph.PayrollBatch")
+@Label("Payroll Batch")
+@Category({"MotorPH", "Payroll"})
+@Description("A batch of employees paid together by a payroll run")
+public class PayrollBatchEvent extends Event {
+
+    @Label("Period")
+    @Description("Pay month as YYYY-MM")
+    public String period;
+
+    @Label("Employees")
+    public int employees;
+
+    @Label("Payslips")
+    public int payslips;
+}
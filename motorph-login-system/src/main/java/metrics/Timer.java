@@ -0,0 +1,52 @@
+package metrics;
+
+import java.util.function.Supplier;
+
+/**
+ * Timer.java
+ * A {@link Histogram} of operation durations. Durations are measured with System.nanoTime
+ * and reported in microseconds.
+ *
+ * Typical use around code that may throw:
+ *
+ *   long start = timer.start();
+ *   try { ... } finally { timer.stop(start); }
+ */
+public class Timer extends Histogram {
+
+    Timer(String name) {
+        super(name, 1e3);
+    }
+
+    /**
+     * Returns the start time to pass to {@link #stop(long)}.
+     */
+    public long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Records the time elapsed since the given start.
+     * @param start The value returned by {@link #start()}.
+     * @return The elapsed nanoseconds.
+     */
+    public long stop(long start) {
+        long elapsed = System.nanoTime() - start;
+        record(elapsed);
+        return elapsed;
+    }
+
+    /**
+     * Runs an operation and records how long it took, also if it throws.
+     * @param operation The operation.
+     * @return The operation's result.
+     */
+    public <T> T time(Supplier<T> operation) {
+        long start = start();
+        try {
+            return operation.get();
+        } finally {
+            stop(start);
+        }
+    }
+}
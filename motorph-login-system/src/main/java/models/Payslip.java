@@ -0,0 +1,89 @@
+package models;
+
+import java.time.LocalDate;
+
+/**
+ * Payslip.java
+ * Holds the computed monthly pay of one employee: hours worked, allowances,
+ * government deductions and net pay for a single calendar month.
+ */
+public class Payslip {
+    private final String employeeNumber;
+    private final String lastName;
+    private final String firstName;
+    private final LocalDate periodStart;
+    private final LocalDate periodEnd;
+    private final int logCount;
+    private final double totalHours;
+    private final double totalOvertime;
+    private final double hourlyRate;
+    private final double basicGrossPay;
+    private final double riceSubsidy;
+    private final double phoneAllowance;
+    private final double clothingAllowance;
+    private final double totalAllowances;
+    private final double sss;
+    private final double philhealth;
+    private final double pagibig;
+    private final double withholdingTax;
+    private final double totalDeductions;
+    private final double netPay;
+
+    // Constructor
+    public Payslip(String employeeNumber, String lastName, String firstName, LocalDate periodStart,
+                   LocalDate periodEnd, int logCount, double totalHours, double totalOvertime, double hourlyRate,
+                   double basicGrossPay, double riceSubsidy, double phoneAllowance, double clothingAllowance,
+                   double totalAllowances, double sss, double philhealth, double pagibig, double withholdingTax,
+                   double totalDeductions, double netPay) {
+        this.employeeNumber = employeeNumber;
+        this.lastName = lastName;
+        this.firstName = firstName;
+        this.periodStart = periodStart;
+        this.periodEnd = periodEnd;
+        this.logCount = logCount;
+        this.totalHours = totalHours;
+        this.totalOvertime = totalOvertime;
+        this.hourlyRate = hourlyRate;
+        this.basicGrossPay = basicGrossPay;
+        this.riceSubsidy = riceSubsidy;
+        this.phoneAllowance = phoneAllowance;
+        this.clothingAllowance = clothingAllowance;
+        this.totalAllowances = totalAllowances;
+        this.sss = sss;
+        this.philhealth = philhealth;
+        this.pagibig = pagibig;
+        this.withholdingTax = withholdingTax;
+        this.totalDeductions = totalDeductions;
+        this.netPay = netPay;
+    }
+
+    // Getters
+    public String getEmployeeNumber() { return employeeNumber; }
+    public String getLastName() { return lastName; }
+    public String getFirstName() { return firstName; }
+    public LocalDate getPeriodStart() { return periodStart; }
+    public LocalDate getPeriodEnd() { return periodEnd; }
+    public int getLogCount() { return logCount; }
+    public double getTotalHours() { return totalHours; }
+    public double getTotalOvertime() { return totalOvertime; }
+    public double getHourlyRate() { return hourlyRate; }
+    public double getBasicGrossPay() { return basicGrossPay; }
+    public double getRiceSubsidy() { return riceSubsidy; }
+    public double getPhoneAllowance() { return phoneAllowance; }
+    public double getClothingAllowance() { return clothingAllowance; }
+    public double getTotalAllowances() { return totalAllowances; }
+    public double getGrossPay() { return basicGrossPay + totalAllowances; }
+    public double getSss() { return sss; }
+    public double getPhilhealth() { return philhealth; }
+    public double getPagibig() { return pagibig; }
+    public double getWithholdingTax() { return withholdingTax; }
+    public double getTotalDeductions() { return totalDeductions; }
+    public double getNetPay() { return netPay; }
+
+    @Override
+    public String toString() {
+        return String.format("%s %s (%s) %s to %s: %.2f hours | Gross: %.2f | Deductions: %.2f | Net: %.2f",
+                firstName, lastName, employeeNumber, periodStart, periodEnd, totalHours,
+                getGrossPay(), totalDeductions, netPay);
+    }
+}
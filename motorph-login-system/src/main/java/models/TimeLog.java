@@ -9,21 +9,18 @@ import java.time.temporal.WeekFields;
 
 public class TimeLog {
     // Class fields
-    private String employeeNumber;
-    private String lastName;        // Add missing field
-    private String firstName;       // Add missing field
-    private LocalDate date;
-    private LocalTime timeIn;
-    private LocalTime timeOut;
-    private double hoursWorked;
-    private double overtime;
-    private int weekNumber;
-    private boolean lateLoginDeduction;
+    private final String employeeNumber;
+    private final String lastName;
+    private final String firstName;
+    private final LocalDate date;
+    private final LocalTime timeIn;
+    private final LocalTime timeOut;
 
     // Constants
     private static final LocalTime GRACE_PERIOD = LocalTime.of(8, 10);
-    // Remove the unused STANDARD_LOGIN constant
+    static final int GRACE_PERIOD_MINUTE = GRACE_PERIOD.toSecondOfDay() / 60;
 
+    // Hours, overtime, week number and late flag are derived on demand instead of stored per record
     public TimeLog(String employeeNumber, String lastName, String firstName, LocalDate date,
                    LocalTime logIn, LocalTime logOut) {
         this.employeeNumber = employeeNumber;
@@ -32,26 +29,20 @@ public class TimeLog {
         this.date = date;
         this.timeIn = logIn;
         this.timeOut = logOut;
-        this.hoursWorked = calculateHoursWorked();
-        this.overtime = calculateOvertime();
-        this.weekNumber = date.get(WeekFields.ISO.weekOfWeekBasedYear());
-        this.lateLoginDeduction = isLateLogin();
     }
 
-    private double calculateHoursWorked() {
-    Duration worked = Duration.between(timeIn, timeOut);
-    double hours = worked.toMinutes() / 60.0;
-    return Math.min(hours, 8.0); // Only up to 8 hours counted as regular
+    private long minutesWorked() {
+        return Duration.between(timeIn, timeOut).toMinutes();
     }
 
-    private double calculateOvertime() {
-    Duration worked = Duration.between(timeIn, timeOut);
-    double hours = worked.toMinutes() / 60.0;
-    return Math.max(0, hours - 8.0); // Overtime is any hour above 8
+    static double regularHours(long minutesWorked) {
+        double hours = minutesWorked / 60.0;
+        return Math.min(hours, 8.0); // Only up to 8 hours counted as regular
     }
 
-    private boolean isLateLogin() {
-        return timeIn.isAfter(GRACE_PERIOD);
+    static double overtimeHours(long minutesWorked) {
+        double hours = minutesWorked / 60.0;
+        return Math.max(0, hours - 8.0); // Overtime is any hour above 8
     }
 
     // Getters
@@ -61,17 +52,17 @@ public class TimeLog {
     public LocalDate getDate() { return date; }
     public LocalTime getLogIn() { return timeIn; }
     public LocalTime getLogOut() { return timeOut; }
-    public double getHoursWorked() { return hoursWorked; }
-    public double getOvertime() { return overtime; }
-    public int getWeekNumber() { return weekNumber; }
-    public boolean hasLateLoginDeduction() { return lateLoginDeduction; }
+    public double getHoursWorked() { return regularHours(minutesWorked()); }
+    public double getOvertime() { return overtimeHours(minutesWorked()); }
+    public int getWeekNumber() { return date.get(WeekFields.ISO.weekOfWeekBasedYear()); }
+    public boolean hasLateLoginDeduction() { return timeIn.isAfter(GRACE_PERIOD); }
 
     // For displaying the record
     @Override
     public String toString() {
         return String.format("%s %s (%s) worked on %s [Week %d]: %.2f hours | Overtime: %.2f hours | Late Deduction: %s",
-                firstName, lastName, employeeNumber, date, weekNumber, hoursWorked, overtime,
-                lateLoginDeduction ? "YES" : "NO");
+                firstName, lastName, employeeNumber, date, getWeekNumber(), getHoursWorked(), getOvertime(),
+                hasLateLoginDeduction() ? "YES" : "NO");
     }
 
     // Example usage: parsing from a TSV line
@@ -0,0 +1,345 @@
+package models;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.WeekFields;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+
+/**
+ * TimeLogStore.java
+ * Compact, column-oriented storage for attendance records. Each row is kept as an int
+ * employee id, an int epoch day and two short minute-of-day values in parallel primitive
+ * arrays; employee numbers and names are stored once per employee rather than once per row.
+ * Hours, overtime, week number and late flags are derived on demand, and {@link #get(int)}
+ * returns a {@link TimeLog} view for callers that work with the object API.
+ */
+public class TimeLogStore {
+
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    // Parallel row columns
+    private int[] employeeIds;
+    private int[] epochDays;
+    private short[] logInMinutes;
+    private short[] logOutMinutes;
+    private int size;
+
+    // Employee id -> {employee number, last name, first name}
+    private final Map<Integer, String[]> identities;
+
+    public TimeLogStore() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public TimeLogStore(int capacity) {
+        int initial = Math.max(capacity, 16);
+        employeeIds = new int[initial];
+        epochDays = new int[initial];
+        logInMinutes = new short[initial];
+        logOutMinutes = new short[initial];
+        identities = new HashMap<>();
+    }
+
+    private TimeLogStore(int[] employeeIds, int[] epochDays, short[] logInMinutes, short[] logOutMinutes,
+                         int size, Map<Integer, String[]> identities) {
+        this.employeeIds = employeeIds;
+        this.epochDays = epochDays;
+        this.logInMinutes = logInMinutes;
+        this.logOutMinutes = logOutMinutes;
+        this.size = size;
+        this.identities = identities;
+    }
+
+    /**
+     * Creates a store over existing row columns, such as columns read from a snapshot.
+     * The arrays are used as they are, not copied. Identities still have to be registered
+     * through {@link #putIdentity}.
+     * @param employeeIds Employee id of each row.
+     * @param epochDays Date of each row as an epoch day.
+     * @param logInMinutes Log-in minute of day of each row.
+     * @param logOutMinutes Log-out minute of day of each row.
+     * @param size Number of rows in use.
+     */
+    public static TimeLogStore fromColumns(int[] employeeIds, int[] epochDays, short[] logInMinutes,
+                                           short[] logOutMinutes, int size) {
+        if (size > employeeIds.length || size > epochDays.length
+                || size > logInMinutes.length || size > logOutMinutes.length) {
+            throw new IllegalArgumentException("Columns are shorter than " + size + " rows");
+        }
+        if (size == 0) {
+            return new TimeLogStore();
+        }
+        return new TimeLogStore(employeeIds, epochDays, logInMinutes, logOutMinutes, size, new HashMap<>());
+    }
+
+    /**
+     * Returns the employee id that stands for an employee number in the id column. A number
+     * in canonical decimal form ("10001") is its own id, so ids sort like the numbers and are
+     * the same in every file, snapshot and partition. Any other number ("01001", "E-17") gets
+     * a negative id derived from its text, so it is neither dropped nor merged with the
+     * numeric employee it resembles. Two such numbers can share an id; loaders check
+     * {@link #employeeNumberOf(int)} and refuse the second.
+     * @param employeeNumber The employee number as written in the file; whitespace counts.
+     */
+    public static int idOf(String employeeNumber) {
+        int length = employeeNumber.length();
+        boolean canonical = length > 0 && length <= 10 && (length == 1 || employeeNumber.charAt(0) != '0');
+        for (int i = 0; canonical && i < length; i++) {
+            char c = employeeNumber.charAt(i);
+            canonical = c >= '0' && c <= '9';
+        }
+        if (canonical) {
+            long value = Long.parseLong(employeeNumber);
+            if (value <= Integer.MAX_VALUE) {
+                return (int) value;
+            }
+        }
+        // String.hashCode is fixed by the language specification, so the id is stable across runs
+        return -1 - (employeeNumber.hashCode() & Integer.MAX_VALUE);
+    }
+
+    /**
+     * Checks whether the employee's number and names are already known to the store.
+     */
+    public boolean hasIdentity(int employeeId) {
+        return identities.containsKey(employeeId);
+    }
+
+    /**
+     * Returns the employee number registered for an employee id, or null if there is none.
+     */
+    public String employeeNumberOf(int employeeId) {
+        String[] identity = identities.get(employeeId);
+        return identity == null ? null : identity[0];
+    }
+
+    /**
+     * Records the employee number and names shared by all rows of an employee.
+     */
+    public void putIdentity(int employeeId, String employeeNumber, String lastName, String firstName) {
+        identities.put(employeeId, new String[] {employeeNumber, lastName, firstName});
+    }
+
+    /**
+     * Replaces the stored names with the String instances held by the employee master, so the
+     * attendance data does not keep its own copies of every employee's names.
+     * @param employees The employee master records.
+     */
+    public synchronized void internNames(Collection<EmployeeProfile> employees) {
+        for (EmployeeProfile employee : employees) {
+            String[] identity = identities.get(idOf(employee.getEmployeeNumber()));
+            if (identity != null
+                    && identity[0].equals(employee.getEmployeeNumber())
+                    && identity[1].equals(employee.getLastName())
+                    && identity[2].equals(employee.getFirstName())) {
+                identity[0] = employee.getEmployeeNumber();
+                identity[1] = employee.getLastName();
+                identity[2] = employee.getFirstName();
+            }
+        }
+    }
+
+    /**
+     * Appends an attendance row. The employee's identity must be registered through
+     * {@link #putIdentity} before its rows are read back.
+     */
+    public void add(int employeeId, int epochDay, int logInMinute, int logOutMinute) {
+        if (size == employeeIds.length) {
+            int capacity = size + (size >> 1);
+            employeeIds = Arrays.copyOf(employeeIds, capacity);
+            epochDays = Arrays.copyOf(epochDays, capacity);
+            logInMinutes = Arrays.copyOf(logInMinutes, capacity);
+            logOutMinutes = Arrays.copyOf(logOutMinutes, capacity);
+        }
+        employeeIds[size] = employeeId;
+        epochDays[size] = epochDay;
+        logInMinutes[size] = (short) logInMinute;
+        logOutMinutes[size] = (short) logOutMinute;
+        size++;
+    }
+
+    public int size() { return size; }
+
+    // Primitive row accessors
+    public int employeeId(int row) { return employeeIds[row]; }
+    public int epochDay(int row) { return epochDays[row]; }
+    public int logInMinute(int row) { return logInMinutes[row]; }
+    public int logOutMinute(int row) { return logOutMinutes[row]; }
+    public String employeeNumber(int row) { return identities.get(employeeIds[row])[0]; }
+    public String lastName(int row) { return identities.get(employeeIds[row])[1]; }
+    public String firstName(int row) { return identities.get(employeeIds[row])[2]; }
+
+    // Derived values, computed the same way as TimeLog
+    public double hoursWorked(int row) { return TimeLog.regularHours(logOutMinutes[row] - logInMinutes[row]); }
+    public double overtime(int row) { return TimeLog.overtimeHours(logOutMinutes[row] - logInMinutes[row]); }
+    public boolean hasLateLoginDeduction(int row) { return logInMinutes[row] > TimeLog.GRACE_PERIOD_MINUTE; }
+    public int weekNumber(int row) {
+        return LocalDate.ofEpochDay(epochDays[row]).get(WeekFields.ISO.weekOfWeekBasedYear());
+    }
+
+    /**
+     * Returns a TimeLog view of a row for callers that use the object API.
+     */
+    public TimeLog get(int row) {
+        String[] identity = identities.get(employeeIds[row]);
+        int logIn = logInMinutes[row];
+        int logOut = logOutMinutes[row];
+        return new TimeLog(identity[0], identity[1], identity[2],
+                LocalDate.ofEpochDay(epochDays[row]),
+                LocalTime.of(logIn / 60, logIn % 60),
+                LocalTime.of(logOut / 60, logOut % 60));
+    }
+
+    /**
+     * Returns a read-only list of TimeLog views over a range of rows. Views are created
+     * as elements are accessed, not up front.
+     * @param from First row (inclusive).
+     * @param to Last row (exclusive).
+     */
+    public List<TimeLog> view(int from, int to) {
+        if (from < 0 || to > size || from > to) {
+            throw new IndexOutOfBoundsException("Invalid row range " + from + " to " + to + " of " + size);
+        }
+        return new RowView(from, to);
+    }
+
+    /**
+     * Returns a copy of the store with its rows ordered by employee id and then by date.
+     * Rows with the same employee and date keep their original order.
+     */
+    public TimeLogStore sortedByEmployeeAndDate() {
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) order[i] = i;
+        mergeSort(order, new int[size], 0, size);
+
+        int[] sortedIds = new int[size];
+        int[] sortedDays = new int[size];
+        short[] sortedIns = new short[size];
+        short[] sortedOuts = new short[size];
+        for (int i = 0; i < size; i++) {
+            int row = order[i];
+            sortedIds[i] = employeeIds[row];
+            sortedDays[i] = epochDays[row];
+            sortedIns[i] = logInMinutes[row];
+            sortedOuts[i] = logOutMinutes[row];
+        }
+        return new TimeLogStore(sortedIds, sortedDays, sortedIns, sortedOuts, size, identities);
+    }
+
+    /**
+     * Returns a new store holding the rows of this store and of another store, both already
+     * ordered by employee and date, in that same order. Where rows compare equal, rows of
+     * this store come first, so merging rows appended to a file gives the same result as
+     * sorting the whole file. Appended rows of an employee number whose id this store already
+     * holds for another number are reported and dropped, as the loaders drop them.
+     * @param appended Sorted rows to merge in.
+     */
+    public TimeLogStore mergeSorted(TimeLogStore appended) {
+        appended = withoutClashingIdentities(appended);
+        int total = size + appended.size;
+        int[] mergedIds = new int[total];
+        int[] mergedDays = new int[total];
+        short[] mergedIns = new short[total];
+        short[] mergedOuts = new short[total];
+
+        int left = 0;
+        int right = 0;
+        for (int i = 0; i < total; i++) {
+            boolean takeLeft = right >= appended.size || (left < size
+                    && (employeeIds[left] < appended.employeeIds[right]
+                        || (employeeIds[left] == appended.employeeIds[right]
+                            && epochDays[left] <= appended.epochDays[right])));
+            TimeLogStore source = takeLeft ? this : appended;
+            int row = takeLeft ? left++ : right++;
+            mergedIds[i] = source.employeeIds[row];
+            mergedDays[i] = source.epochDays[row];
+            mergedIns[i] = source.logInMinutes[row];
+            mergedOuts[i] = source.logOutMinutes[row];
+        }
+
+        Map<Integer, String[]> mergedIdentities = new HashMap<>(appended.identities);
+        mergedIdentities.putAll(identities);
+        return new TimeLogStore(mergedIds, mergedDays, mergedIns, mergedOuts, total, mergedIdentities);
+    }
+
+    // The other store without the rows of employee numbers whose id this store knows for another number
+    private TimeLogStore withoutClashingIdentities(TimeLogStore other) {
+        Set<Integer> clashing = new HashSet<>();
+        for (Map.Entry<Integer, String[]> entry : other.identities.entrySet()) {
+            String known = employeeNumberOf(entry.getKey());
+            if (known != null && !known.equals(entry.getValue()[0])) {
+                System.err.println("[ERROR] Skipping attendance of employee " + entry.getValue()[0]
+                        + ": its id clashes with employee " + known);
+                clashing.add(entry.getKey());
+            }
+        }
+        if (clashing.isEmpty()) {
+            return other;
+        }
+        TimeLogStore kept = new TimeLogStore(other.size);
+        for (int row = 0; row < other.size; row++) {
+            if (!clashing.contains(other.employeeIds[row])) {
+                kept.add(other.employeeIds[row], other.epochDays[row], other.logInMinutes[row], other.logOutMinutes[row]);
+            }
+        }
+        kept.identities.putAll(other.identities);
+        kept.identities.keySet().removeAll(clashing);
+        return kept;
+    }
+
+    // Stable merge sort of row numbers by (employee id, epoch day)
+    private void mergeSort(int[] rows, int[] scratch, int from, int to) {
+        if (to - from < 2) return;
+        int mid = (from + to) >>> 1;
+        mergeSort(rows, scratch, from, mid);
+        mergeSort(rows, scratch, mid, to);
+        if (compareRows(rows[mid - 1], rows[mid]) <= 0) return; // Already in order
+        System.arraycopy(rows, from, scratch, from, to - from);
+        int left = from;
+        int right = mid;
+        for (int i = from; i < to; i++) {
+            if (right >= to || (left < mid && compareRows(scratch[left], scratch[right]) <= 0)) {
+                rows[i] = scratch[left++];
+            } else {
+                rows[i] = scratch[right++];
+            }
+        }
+    }
+
+    private int compareRows(int a, int b) {
+        int byEmployee = Integer.compare(employeeIds[a], employeeIds[b]);
+        return byEmployee != 0 ? byEmployee : Integer.compare(epochDays[a], epochDays[b]);
+    }
+
+    // Lazily materialized TimeLog list over a row range
+    private final class RowView extends AbstractList<TimeLog> implements RandomAccess {
+        private final int from;
+        private final int to;
+
+        private RowView(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public TimeLog get(int index) {
+            if (index < 0 || index >= to - from) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of " + (to - from));
+            }
+            return TimeLogStore.this.get(from + index);
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+    }
+}
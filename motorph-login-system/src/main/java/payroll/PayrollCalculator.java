@@ -0,0 +1,113 @@
+package payroll;
+
+import governmentContributions.Deduction;
+import governmentContributions.DeductionPipeline;
+import governmentContributions.GovernmentDeduction;
+import metrics.Metrics;
+import metrics.Timer;
+import models.EmployeeProfile;
+import models.Payslip;
+import models.TimeLog;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * PayrollCalculator.java
+ * Computes an employee's monthly pay from their time logs. This is the single place
+ * where the payroll arithmetic lives, shared by the employee detail dialog and the
+ * batch payroll run so both always produce the same numbers. Deductions are taken
+ * from a {@link DeductionPipeline}, the government pipeline unless another is given.
+ */
+public class PayrollCalculator {
+
+    private static final Timer COMPUTE_TIMER = Metrics.timer("payroll.compute");
+
+    /**
+     * Computes the payslip of an employee for a calendar month.
+     * @param employee The employee to pay.
+     * @param monthLogs The employee's time logs within the month.
+     * @param year The year of the pay period.
+     * @param month The month of the pay period (1-12).
+     * @return The computed payslip, or null if there are no logs for the month.
+     */
+    public static Payslip compute(EmployeeProfile employee, List<TimeLog> monthLogs, int year, int month) {
+        return compute(employee, monthLogs, year, month, DeductionPipeline.government());
+    }
+
+    /**
+     * Computes the payslip of an employee for a calendar month with the given deductions.
+     * @param employee The employee to pay.
+     * @param monthLogs The employee's time logs within the month.
+     * @param year The year of the pay period.
+     * @param month The month of the pay period (1-12).
+     * @param deductions The deductions to apply to basic pay.
+     * @return The computed payslip, or null if there are no logs for the month.
+     */
+    public static Payslip compute(EmployeeProfile employee, List<TimeLog> monthLogs, int year, int month,
+                                  DeductionPipeline deductions) {
+        if (monthLogs.isEmpty()) {
+            return null;
+        }
+        long start = COMPUTE_TIMER.start();
+
+        // Calculate payroll details
+        double totalHours = totalHours(monthLogs);
+        double totalOvertime = totalOvertime(monthLogs);
+        double basicGrossMonthlyPay = totalHours * employee.getHourlyRate();
+
+        // Calculate deductions (based on basic pay only, not including allowances)
+        double[] amounts = new double[deductions.getStageCount()];
+        double totalDeductions = deductions.computeOne(basicGrossMonthlyPay, amounts);
+
+        Payslip payslip = toPayslip(employee, year, month, monthLogs.size(), totalHours, totalOvertime,
+                basicGrossMonthlyPay, deductions, amounts, totalDeductions);
+        COMPUTE_TIMER.stop(start);
+        return payslip;
+    }
+
+    static double totalHours(List<TimeLog> monthLogs) {
+        return monthLogs.stream().mapToDouble(TimeLog::getHoursWorked).sum();
+    }
+
+    static double totalOvertime(List<TimeLog> monthLogs) {
+        return monthLogs.stream().mapToDouble(TimeLog::getOvertime).sum();
+    }
+
+    /**
+     * Builds a payslip from hours already summed and deductions already computed.
+     * @param amounts The amount of each pipeline stage, in pipeline order.
+     * @param totalDeductions The total of all stages.
+     */
+    static Payslip toPayslip(EmployeeProfile employee, int year, int month, int logCount,
+                             double totalHours, double totalOvertime, double basicGrossMonthlyPay,
+                             DeductionPipeline deductions, double[] amounts, double totalDeductions) {
+        LocalDate startDate = LocalDate.of(year, month, 1);
+        LocalDate endDate = startDate.withDayOfMonth(startDate.lengthOfMonth());
+
+        // Extract allowances
+        double rice = employee.getRiceSubsidy();
+        double phone = employee.getPhoneAllowance();
+        double clothing = employee.getClothingAllowance();
+        double totalAllowances = rice + phone + clothing;
+
+        // Calculate final amounts
+        double grossMonthlyPay = basicGrossMonthlyPay + totalAllowances; // Total gross including allowances
+        double netMonthlyPay = grossMonthlyPay - totalDeductions;
+
+        return new Payslip(employee.getEmployeeNumber(), employee.getLastName(), employee.getFirstName(),
+                startDate, endDate, logCount, totalHours, totalOvertime, employee.getHourlyRate(),
+                basicGrossMonthlyPay, rice, phone, clothing, totalAllowances,
+                amountOf(GovernmentDeduction.SSS, deductions, amounts),
+                amountOf(GovernmentDeduction.PHILHEALTH, deductions, amounts),
+                amountOf(GovernmentDeduction.PAGIBIG, deductions, amounts),
+                amountOf(GovernmentDeduction.WITHHOLDING_TAX, deductions, amounts),
+                totalDeductions, netMonthlyPay);
+    }
+
+    // Amount of a named stage, or 0 if the pipeline does not include it
+    private static double amountOf(Deduction deduction, DeductionPipeline deductions, double[] amounts) {
+        int stage = deductions.indexOf(deduction.getName());
+        return stage < 0 ? 0 : amounts[stage];
+    }
+}
@@ -0,0 +1,175 @@
+package payroll;
+
+import dataLoader.AttendancePartitions;
+import dataLoader.LoadEmployeeData;
+import models.EmployeeProfile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * PayrollCli.java
+ * Command-line entry point for running payroll on servers without a display, for
+ * scheduled jobs:
+ *
+ *   java -cp target/classes payroll.PayrollCli run --month 2024-06 --threads 8 --out register.tsv
+ *
+ * Only the data loaders, the payroll engine and the government contribution tables are
+ * used; no Swing or AWT class is loaded, and java.awt.headless is set in case a library
+ * touches AWT. The register is streamed to the output file (see {@link PayrollRegister}),
+ * and a timing report for each step goes to standard error.
+ *
+ * The default data files, and the contribution tables, are resolved against the project
+ * directory given by the motorph.home system property (the payroll script sets it to its
+ * own directory), or the working directory without it, so the script runs from anywhere.
+ */
+public class PayrollCli {
+
+    static final String HOME_PROPERTY = "motorph.home";
+    static final String EMPLOYEE_FILE =
+            Paths.get(System.getProperty(HOME_PROPERTY, ""), "src/main/resources/Employee Details.csv").toString();
+    static final String ATTENDANCE_FILE =
+            Paths.get(System.getProperty(HOME_PROPERTY, ""), "src/main/resources/Employee Attendance Record.tsv").toString();
+
+    private static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: payroll run --month YYYY-MM [options]",
+            "",
+            "Options:",
+            "  --month YYYY-MM        Pay period to compute (required)",
+            "  --threads N            Worker threads (default: number of processors)",
+            "  --out FILE             Register file to write (default: register-YYYY-MM.tsv)",
+            "  --format FORMAT        tsv, csv or text (default: from the file extension)",
+            "  --employees FILE       Employee details file (default: " + EMPLOYEE_FILE + ")",
+            "  --attendance FILE      Attendance record file (default: " + ATTENDANCE_FILE + ")");
+
+    /**
+     * Runs the command and exits with 0 on success, 1 if the run failed and 2 on a usage error.
+     * @param args The command and its options.
+     */
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        System.exit(run(args));
+    }
+
+    /**
+     * Parses the arguments and runs the command.
+     * @param args The command and its options.
+     * @return The process exit status.
+     */
+    static int run(String[] args) {
+        if (args.length == 0 || !args[0].equals("run")) {
+            System.err.println(USAGE);
+            return 2;
+        }
+
+        YearMonth period = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        Path out = null;
+        PayrollRegister.Format format = null;
+        String employeeFile = EMPLOYEE_FILE;
+        String attendanceFile = ATTENDANCE_FILE;
+        try {
+            for (int i = 1; i < args.length; i++) {
+                String option = args[i];
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Missing value for " + option);
+                }
+                String value = args[++i];
+                switch (option) {
+                    case "--month":
+                        period = YearMonth.parse(value);
+                        break;
+                    case "--threads":
+                        threads = Integer.parseInt(value);
+                        if (threads < 1) {
+                            throw new IllegalArgumentException("--threads must be at least 1");
+                        }
+                        break;
+                    case "--out":
+                        out = Paths.get(value);
+                        break;
+                    case "--format":
+                        format = PayrollRegister.Format.valueOf(value.toUpperCase(Locale.ROOT));
+                        break;
+                    case "--employees":
+                        employeeFile = value;
+                        break;
+                    case "--attendance":
+                        attendanceFile = value;
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option " + option);
+                }
+            }
+            if (period == null) {
+                throw new IllegalArgumentException("--month is required");
+            }
+        } catch (DateTimeParseException e) {
+            System.err.println("Invalid month, expected YYYY-MM: " + e.getParsedString());
+            System.err.println(USAGE);
+            return 2;
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            return 2;
+        }
+
+        // The loaders report a missing file and carry on with no data, which would write an empty register
+        for (String file : new String[] {employeeFile, attendanceFile}) {
+            if (!Files.isRegularFile(Paths.get(file))) {
+                System.err.println("Data file not found: " + Paths.get(file).toAbsolutePath());
+                return 1;
+            }
+        }
+
+        if (out == null) {
+            out = Paths.get("register-" + period + ".tsv");
+        }
+        if (format == null) {
+            format = PayrollRegister.Format.forFile(out);
+        }
+
+        try {
+            long start = System.nanoTime();
+            List<EmployeeProfile> employees = LoadEmployeeData.loadFromFile(employeeFile);
+            long employeesLoaded = System.nanoTime();
+            int attendanceRows = AttendancePartitions.forFile(attendanceFile)
+                    .month(period.getYear(), period.getMonthValue()).getStore().size();
+            long attendanceLoaded = System.nanoTime();
+
+            PayrollRunEngine engine = new PayrollRunEngine(employeeFile, attendanceFile, threads);
+            int payslips;
+            try (PayrollRegister register = PayrollRegister.open(out, format)) {
+                payslips = engine.run(employees, period.getYear(), period.getMonthValue(), register);
+            }
+            long finished = System.nanoTime();
+
+            System.err.printf("Payroll %s: %d payslips for %d employees written to %s (%s)%n",
+                    period, payslips, employees.size(), out, format.name().toLowerCase(Locale.ROOT));
+            report("Employees loaded", employeesLoaded - start, employees.size(), "employees");
+            report("Attendance loaded", attendanceLoaded - employeesLoaded, attendanceRows, "rows");
+            report("Computed and exported", finished - attendanceLoaded, payslips, "payslips");
+            report("Total", finished - start, payslips, "payslips");
+            return 0;
+        } catch (IOException e) {
+            System.err.println("Error writing register " + out + ": " + e.getMessage());
+            return 1;
+        } catch (RuntimeException e) {
+            System.err.println("Payroll run failed: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    // One timing line: elapsed milliseconds and items per second
+    private static void report(String step, long nanos, int items, String unit) {
+        double seconds = nanos / 1e9;
+        System.err.printf(Locale.ROOT, "  %-22s %10.1f ms %14.0f %s/s%n",
+                step, nanos / 1e6, seconds > 0 ? items / seconds : 0, unit);
+    }
+}
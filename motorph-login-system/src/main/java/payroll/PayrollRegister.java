@@ -0,0 +1,196 @@
+package payroll;
+
+import dataLoader.TsvWriter;
+import models.Payslip;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
+
+/**
+ * PayrollRegister.java
+ * Exports a payroll register: one row per payslip with hours, pay, allowances, each
+ * government deduction and net pay, as tab- or comma-separated values, or as fixed-width
+ * payslip text for printing. Everything is written through a {@link TsvWriter}, so amounts
+ * have exactly two decimals like the master file.
+ *
+ * An open register is a {@link PayrollRunEngine.PayslipSink}: rows are written as payslips
+ * arrive and nothing is kept, so a whole-company run can be exported in constant memory.
+ */
+public class PayrollRegister implements PayrollRunEngine.PayslipSink, Closeable {
+
+    public static final String HEADER = "Employee Number\tLast Name\tFirst Name\tPeriod Start\tPeriod End\t" +
+            "Attendance Records\tTotal Hours\tOvertime Hours\tHourly Rate\tBasic Pay\tRice Subsidy\t" +
+            "Phone Allowance\tClothing Allowance\tTotal Allowances\tGross Pay\tSSS\tPhilHealth\t" +
+            "Pag-IBIG\tWithholding Tax\tTotal Deductions\tNet Pay";
+
+    // Line width of the payslip text format
+    private static final int TEXT_WIDTH = 60;
+    private static final String TEXT_RULE = "-".repeat(TEXT_WIDTH);
+
+    /**
+     * Output formats of a register.
+     */
+    public enum Format {
+        TSV, CSV, TEXT;
+
+        /**
+         * Picks the format from a file name: ".csv" is CSV, ".txt" is payslip text and
+         * anything else is TSV.
+         */
+        public static Format forFile(Path file) {
+            String name = file.getFileName().toString().toLowerCase();
+            if (name.endsWith(".csv")) return CSV;
+            if (name.endsWith(".txt")) return TEXT;
+            return TSV;
+        }
+    }
+
+    private final TsvWriter writer;
+    private final Format format;
+    private final StringBuilder line = new StringBuilder(TEXT_WIDTH + 16);
+    private int count;
+
+    private PayrollRegister(TsvWriter writer, Format format) {
+        this.writer = writer;
+        this.format = format;
+    }
+
+    /**
+     * Creates (or replaces) a register file and writes its header.
+     * @param file The register file to write.
+     * @param format The output format.
+     * @return The open register; close it to flush the last rows.
+     * @throws IOException If the file cannot be written.
+     */
+    public static PayrollRegister open(Path file, Format format) throws IOException {
+        TsvWriter writer = format == Format.CSV ? TsvWriter.csv(file) : TsvWriter.create(file);
+        PayrollRegister register = new PayrollRegister(writer, format);
+        try {
+            if (format == Format.TSV) {
+                writer.line(HEADER);
+            } else if (format == Format.CSV) {
+                writer.line(HEADER.replace('\t', ','));
+            }
+        } catch (IOException e) {
+            writer.close();
+            throw e;
+        }
+        return register;
+    }
+
+    /**
+     * Writes a register of the given payslips to a file, replacing it if it exists.
+     * @param payslips The payslips, in the order they should appear.
+     * @param file The register file to write.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void writeTsv(Collection<Payslip> payslips, Path file) throws IOException {
+        try (PayrollRegister register = open(file, Format.TSV)) {
+            for (Payslip payslip : payslips) {
+                register.accept(payslip);
+            }
+        }
+    }
+
+    /**
+     * Writes one payslip to the register.
+     * @param payslip The payslip.
+     * @throws IOException If it cannot be written.
+     */
+    @Override
+    public void accept(Payslip payslip) throws IOException {
+        if (format == Format.TEXT) {
+            writeText(payslip);
+        } else {
+            writeRow(writer, payslip);
+        }
+        count++;
+    }
+
+    /**
+     * Returns the number of payslips written so far.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    /**
+     * Writes one payslip as a register row.
+     * @param writer The writer, positioned at the start of a row.
+     * @param payslip The payslip.
+     * @throws IOException If the row cannot be written.
+     */
+    public static void writeRow(TsvWriter writer, Payslip payslip) throws IOException {
+        writer.field(payslip.getEmployeeNumber())
+              .field(payslip.getLastName())
+              .field(payslip.getFirstName())
+              .field(payslip.getPeriodStart().toString())
+              .field(payslip.getPeriodEnd().toString())
+              .field(payslip.getLogCount())
+              .fixed2(payslip.getTotalHours())
+              .fixed2(payslip.getTotalOvertime())
+              .fixed2(payslip.getHourlyRate())
+              .fixed2(payslip.getBasicGrossPay())
+              .fixed2(payslip.getRiceSubsidy())
+              .fixed2(payslip.getPhoneAllowance())
+              .fixed2(payslip.getClothingAllowance())
+              .fixed2(payslip.getTotalAllowances())
+              .fixed2(payslip.getGrossPay())
+              .fixed2(payslip.getSss())
+              .fixed2(payslip.getPhilhealth())
+              .fixed2(payslip.getPagibig())
+              .fixed2(payslip.getWithholdingTax())
+              .fixed2(payslip.getTotalDeductions())
+              .fixed2(payslip.getNetPay())
+              .endRow();
+    }
+
+    // One payslip as a block of fixed-width lines with the labels of the salary breakdown panel
+    private void writeText(Payslip payslip) throws IOException {
+        writer.line(TEXT_RULE);
+        textLine("PAYSLIP", payslip.getPeriodStart() + " to " + payslip.getPeriodEnd());
+        textLine("Employee " + payslip.getEmployeeNumber(), payslip.getLastName() + ", " + payslip.getFirstName());
+        writer.line(TEXT_RULE);
+        textLine("Attendance Records:", Integer.toString(payslip.getLogCount()));
+        amountLine("Total Hours Worked:", payslip.getTotalHours());
+        amountLine("Total Overtime Hours:", payslip.getTotalOvertime());
+        amountLine("Hourly Rate:", payslip.getHourlyRate());
+        amountLine("Basic Gross Pay:", payslip.getBasicGrossPay());
+        amountLine("  Rice Subsidy:", payslip.getRiceSubsidy());
+        amountLine("  Phone Allowance:", payslip.getPhoneAllowance());
+        amountLine("  Clothing Allowance:", payslip.getClothingAllowance());
+        amountLine("Total Allowances:", payslip.getTotalAllowances());
+        amountLine("Gross Pay:", payslip.getGrossPay());
+        amountLine("  SSS Contribution:", payslip.getSss());
+        amountLine("  PhilHealth Contribution:", payslip.getPhilhealth());
+        amountLine("  Pag-IBIG Contribution:", payslip.getPagibig());
+        amountLine("  Withholding Tax:", payslip.getWithholdingTax());
+        amountLine("Total Deductions:", payslip.getTotalDeductions());
+        amountLine("NET MONTHLY PAY:", payslip.getNetPay());
+        writer.line("");
+    }
+
+    private void amountLine(String label, double amount) throws IOException {
+        line.setLength(0);
+        TsvWriter.appendFixed2(line, amount);
+        textLine(label, line.toString());
+    }
+
+    // Label on the left, value right-aligned to the line width (at least one space between)
+    private void textLine(String label, String value) throws IOException {
+        line.setLength(0);
+        line.append(label);
+        int padding = Math.max(1, TEXT_WIDTH - label.length() - value.length());
+        for (int i = 0; i < padding; i++) {
+            line.append(' ');
+        }
+        writer.line(line.append(value).toString());
+    }
+}
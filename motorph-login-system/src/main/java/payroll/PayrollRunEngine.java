@@ -0,0 +1,226 @@
+package payroll;
+
+import dataLoader.AttendanceIndex;
+import dataLoader.AttendancePartitions;
+import dataLoader.LoadEmployeeData;
+import governmentContributions.DeductionPipeline;
+import governmentContributions.DeductionResult;
+import metrics.Counter;
+import metrics.Metrics;
+import metrics.PayrollBatchEvent;
+import metrics.Timer;
+import models.EmployeeProfile;
+import models.Payslip;
+import models.TimeLog;
+
+import java.io.IOException;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * PayrollRunEngine.java
+ * Headless payroll run that computes the monthly payslip of every employee at once.
+ * Only the pay month's attendance partition is loaded (see {@link AttendancePartitions})
+ * into an {@link AttendanceIndex}, and the per-employee computations are spread across
+ * cores with parallel streams running in a dedicated fork-join pool. Employees are taken
+ * in fixed-size batches: hours are summed per employee into a column of basic pay, and
+ * the deductions are then computed for the whole column by a {@link DeductionPipeline}.
+ * Each batch's payslips are handed to a {@link PayslipSink}, such as a
+ * {@link PayrollRegister}, before the next batch starts, so a run streams in constant memory.
+ */
+public class PayrollRunEngine {
+
+    /**
+     * Employees computed together before their payslips are handed to a sink; bounds the
+     * memory of a run independently of the number of employees.
+     */
+    public static final int BATCH_SIZE = 4096;
+
+    private static final Timer RUN_TIMER = Metrics.timer("payroll.run");
+    private static final Timer BATCH_TIMER = Metrics.timer("payroll.batch");
+    private static final Counter PAYSLIPS = Metrics.counter("payroll.payslips");
+
+    /**
+     * Receives payslips from a streaming run, one at a time on the thread that started the run.
+     */
+    public interface PayslipSink {
+        void accept(Payslip payslip) throws IOException;
+    }
+
+    private final String employeeFile;
+    private final String attendanceFile;
+    private final int parallelism;
+    private final DeductionPipeline deductions;
+
+    /**
+     * Creates a payroll run engine using all available processors.
+     * @param employeeFile Path to the employee details file.
+     * @param attendanceFile Path to the attendance record file (TSV).
+     */
+    public PayrollRunEngine(String employeeFile, String attendanceFile) {
+        this(employeeFile, attendanceFile, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a payroll run engine with a fixed number of worker threads.
+     * @param employeeFile Path to the employee details file.
+     * @param attendanceFile Path to the attendance record file (TSV).
+     * @param parallelism Number of worker threads for the run.
+     */
+    public PayrollRunEngine(String employeeFile, String attendanceFile, int parallelism) {
+        this(employeeFile, attendanceFile, parallelism, DeductionPipeline.government());
+    }
+
+    /**
+     * Creates a payroll run engine with a fixed number of worker threads and custom deductions.
+     * @param employeeFile Path to the employee details file.
+     * @param attendanceFile Path to the attendance record file (TSV).
+     * @param parallelism Number of worker threads for the run.
+     * @param deductions The deductions to apply to basic pay.
+     */
+    public PayrollRunEngine(String employeeFile, String attendanceFile, int parallelism,
+                            DeductionPipeline deductions) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
+        }
+        this.employeeFile = employeeFile;
+        this.attendanceFile = attendanceFile;
+        this.parallelism = parallelism;
+        this.deductions = deductions;
+    }
+
+    /**
+     * Loads the employee master file and computes every employee's pay for the month.
+     * @param year The year of the pay period.
+     * @param month The month of the pay period (1-12).
+     * @return Payslips in employee file order; employees without attendance in the month are skipped.
+     */
+    public List<Payslip> run(int year, int month) {
+        return run(LoadEmployeeData.loadFromFile(employeeFile), year, month);
+    }
+
+    /**
+     * Computes the pay of the given employees for the month.
+     * @param employees The employees to pay.
+     * @param year The year of the pay period.
+     * @param month The month of the pay period (1-12).
+     * @return Payslips in the order of the given list; employees without attendance in the month are skipped.
+     */
+    public List<Payslip> run(List<EmployeeProfile> employees, int year, int month) {
+        List<Payslip> payslips = new ArrayList<>();
+        try {
+            run(employees, year, month, payslips::add);
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // Adding to a list cannot fail
+        }
+        return payslips;
+    }
+
+    /**
+     * Loads the employee master file and hands every employee's payslip for the month to a
+     * sink, in employee file order, without keeping the payslips.
+     * @param year The year of the pay period.
+     * @param month The month of the pay period (1-12).
+     * @param sink Receives the payslips on the calling thread.
+     * @return The number of payslips produced.
+     * @throws IOException If the sink fails.
+     */
+    public int run(int year, int month, PayslipSink sink) throws IOException {
+        return run(LoadEmployeeData.loadFromFile(employeeFile), year, month, sink);
+    }
+
+    /**
+     * Computes the pay of the given employees for the month in batches of {@link #BATCH_SIZE}
+     * and hands each batch's payslips to a sink before computing the next, so only one batch
+     * of payslips is ever held in memory.
+     * @param employees The employees to pay.
+     * @param year The year of the pay period.
+     * @param month The month of the pay period (1-12).
+     * @param sink Receives the payslips on the calling thread, in the order of the given list.
+     * @return The number of payslips produced; employees without attendance in the month are skipped.
+     * @throws IOException If the sink fails.
+     */
+    public int run(List<EmployeeProfile> employees, int year, int month, PayslipSink sink) throws IOException {
+        long runStart = RUN_TIMER.start();
+        AttendanceIndex attendance = AttendancePartitions.forFile(attendanceFile).month(year, month);
+        attendance.getStore().internNames(employees);
+
+        List<EmployeeProfile> staff = new ArrayList<>(employees);
+        int batchSize = Math.min(BATCH_SIZE, staff.size());
+        int[] logCounts = new int[batchSize];
+        double[] totalHours = new double[batchSize];
+        double[] totalOvertime = new double[batchSize];
+        Payslip[] batch = new Payslip[batchSize];
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        int produced = 0;
+        try {
+            for (int from = 0; from < staff.size(); from += batchSize) {
+                int offset = from;
+                int count = Math.min(batchSize, staff.size() - from);
+                PayrollBatchEvent event = new PayrollBatchEvent();
+                event.begin();
+                long batchStart = BATCH_TIMER.start();
+                pool.submit(() -> {
+                    double[] basicPay = new double[count];
+                    IntStream.range(0, count).parallel().forEach(i -> {
+                        EmployeeProfile employee = staff.get(offset + i);
+                        List<TimeLog> monthLogs = attendance.getLogsForMonth(employee.getEmployeeNumber(), year, month);
+                        logCounts[i] = monthLogs.size();
+                        totalHours[i] = PayrollCalculator.totalHours(monthLogs);
+                        totalOvertime[i] = PayrollCalculator.totalOvertime(monthLogs);
+                        basicPay[i] = totalHours[i] * employee.getHourlyRate();
+                    });
+
+                    DeductionResult result = deductions.run(basicPay, true);
+
+                    IntStream.range(0, count).parallel().forEach(i -> {
+                        if (logCounts[i] == 0) {
+                            batch[i] = null;
+                            return;
+                        }
+                        double[] amounts = new double[result.getStageCount()];
+                        for (int stage = 0; stage < amounts.length; stage++) {
+                            amounts[stage] = result.getAmount(stage, i);
+                        }
+                        batch[i] = PayrollCalculator.toPayslip(staff.get(offset + i), year, month, logCounts[i],
+                                totalHours[i], totalOvertime[i], basicPay[i], deductions,
+                                amounts, result.getTotal(i));
+                    });
+                }).get();
+                BATCH_TIMER.stop(batchStart);
+
+                int payslips = 0;
+                for (int i = 0; i < count; i++) {
+                    if (batch[i] != null) {
+                        sink.accept(batch[i]);
+                        batch[i] = null;
+                        payslips++;
+                    }
+                }
+                produced += payslips;
+                event.period = YearMonth.of(year, month).toString();
+                event.employees = count;
+                event.payslips = payslips;
+                event.commit();
+            }
+            PAYSLIPS.add(produced);
+            RUN_TIMER.stop(runStart);
+            return produced;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Payroll run interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Payroll run failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    public int getParallelism() { return parallelism; }
+    public DeductionPipeline getDeductions() { return deductions; }
+}
@@ -0,0 +1,196 @@
+package payroll;
+
+import metrics.Counter;
+import metrics.Metrics;
+import models.Payslip;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * PayslipCache.java
+ * Bounded least-recently-used cache of computed monthly payslips, keyed by employee
+ * number, year and month. The cache watches the files the payslips were computed from
+ * (attendance and employee details): whenever any of them has a different
+ * last-modified time or size, every entry is dropped. Entries for a single employee
+ * can also be dropped when that employee's record is edited.
+ * Hits, misses, evictions and invalidations are counted in {@link Metrics} ("payslip.cache.*").
+ *
+ * A payslip is computed outside the cache's lock, so a file can change, or a record be
+ * edited, while it is being computed. Every invalidation therefore moves the cache to a
+ * new generation: callers take {@link #generation()} before reading the source data and
+ * pass it to {@link #put(Payslip, long)}, which drops a payslip from an older generation.
+ */
+public class PayslipCache {
+
+    private static final Counter HITS = Metrics.counter("payslip.cache.hits");
+    private static final Counter MISSES = Metrics.counter("payslip.cache.misses");
+    private static final Counter EVICTIONS = Metrics.counter("payslip.cache.evictions");
+    private static final Counter INVALIDATIONS = Metrics.counter("payslip.cache.invalidations");
+
+    private final int capacity;
+    private final Path[] sourceFiles;
+    private final long[] sourceStamps;
+    private final LinkedHashMap<Key, Payslip> entries;
+
+    private long generation;
+
+    /**
+     * Creates an empty cache.
+     * @param capacity Maximum number of payslips kept.
+     * @param sourceFiles Files whose modification invalidates every entry.
+     */
+    public PayslipCache(int capacity, String... sourceFiles) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1: " + capacity);
+        }
+        this.capacity = capacity;
+        this.sourceFiles = new Path[sourceFiles.length];
+        this.sourceStamps = new long[sourceFiles.length * 2];
+        for (int i = 0; i < sourceFiles.length; i++) {
+            this.sourceFiles[i] = Paths.get(sourceFiles[i]);
+        }
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Payslip> eldest) {
+                if (size() > PayslipCache.this.capacity) {
+                    EVICTIONS.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        refreshStamps();
+    }
+
+    /**
+     * Returns the cached payslip of an employee for a month.
+     * @param employeeNumber The employee number.
+     * @param year The year of the pay period.
+     * @param month The month of the pay period (1-12).
+     * @return The payslip, or null if it is not cached or its source files have changed.
+     */
+    public synchronized Payslip get(String employeeNumber, int year, int month) {
+        if (refreshStamps()) {
+            invalidateAll();
+        }
+        Payslip payslip = entries.get(new Key(employeeNumber, year, month));
+        if (payslip == null) {
+            MISSES.increment();
+        } else {
+            HITS.increment();
+        }
+        return payslip;
+    }
+
+    /**
+     * Returns the current generation, first checking the source files. Take it before
+     * reading the data a payslip is computed from.
+     */
+    public synchronized long generation() {
+        if (refreshStamps()) {
+            invalidateAll();
+        }
+        return generation;
+    }
+
+    /**
+     * Stores a computed payslip, evicting the least recently used one if the cache is full.
+     * The payslip is not stored if the cache was invalidated since the given generation,
+     * because it may have been computed from outdated data.
+     * @param payslip The payslip; its period start gives the year and month.
+     * @param generation The {@link #generation()} taken before the payslip was computed.
+     * @return Whether the payslip was stored.
+     */
+    public synchronized boolean put(Payslip payslip, long generation) {
+        if (refreshStamps()) {
+            invalidateAll();
+        }
+        if (generation != this.generation) {
+            return false;
+        }
+        entries.put(new Key(payslip.getEmployeeNumber(), payslip.getPeriodStart().getYear(),
+                payslip.getPeriodStart().getMonthValue()), payslip);
+        return true;
+    }
+
+    /**
+     * Drops every cached payslip of one employee, for example after the record is edited.
+     * @param employeeNumber The employee number.
+     */
+    public synchronized void invalidateEmployee(String employeeNumber) {
+        // A payslip of this employee may be being computed from the old record
+        generation++;
+        if (entries.keySet().removeIf(key -> key.employeeNumber.equals(employeeNumber))) {
+            INVALIDATIONS.increment();
+        }
+    }
+
+    /**
+     * Drops every cached payslip.
+     */
+    public synchronized void invalidateAll() {
+        generation++;
+        if (!entries.isEmpty()) {
+            entries.clear();
+            INVALIDATIONS.increment();
+        }
+    }
+
+    public synchronized int size() { return entries.size(); }
+    public int getCapacity() { return capacity; }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("PayslipCache[size=%d/%d]", entries.size(), capacity);
+    }
+
+    // Re-reads the source file stamps; returns true if any differs from the last check
+    private boolean refreshStamps() {
+        boolean changed = false;
+        for (int i = 0; i < sourceFiles.length; i++) {
+            long lastModified = -1;
+            long size = -1;
+            try {
+                lastModified = Files.getLastModifiedTime(sourceFiles[i]).toMillis();
+                size = Files.size(sourceFiles[i]);
+            } catch (IOException e) {
+                // Missing file: stamp stays -1 so it is seen as changed once it reappears
+            }
+            if (sourceStamps[2 * i] != lastModified || sourceStamps[2 * i + 1] != size) {
+                sourceStamps[2 * i] = lastModified;
+                sourceStamps[2 * i + 1] = size;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    private static final class Key {
+        final String employeeNumber;
+        final int period; // year * 12 + (month - 1)
+
+        Key(String employeeNumber, int year, int month) {
+            this.employeeNumber = employeeNumber;
+            this.period = year * 12 + (month - 1);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return period == other.period && employeeNumber.equals(other.employeeNumber);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(employeeNumber, period);
+        }
+    }
+}
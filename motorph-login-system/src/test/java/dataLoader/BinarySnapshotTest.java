@@ -0,0 +1,130 @@
+package dataLoader;
+
+import models.EmployeeProfile;
+import models.TimeLogStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Round trips of attendance and employee snapshots, and rejection of stale or damaged ones.
+ */
+class BinarySnapshotTest {
+
+    private static final String ATTENDANCE = String.join("\n",
+            "Employee #\tLast Name\tFirst Name\tDate\tLog In\tLog Out",
+            "10001\tGarcia\tManuel III\t06/03/2024\t8:59\t18:31",
+            "10002\tLim\tAntonio\t06/03/2024\t10:35\t19:44",
+            "01001\tZero\tLeading\t06/04/2024\t8:00\t17:00",
+            "10001\tGarcia\tManuel III\t06/04/2024\t9:47\t19:07");
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void attendanceSnapshotReadsBackTheParsedRows() throws IOException {
+        Path source = writeAttendance();
+        TimeLogStore parsed = LoadTimeSheet.parseTextStore(source.toString());
+        BinarySnapshot.writeAttendance(source.toString(), parsed, BinarySnapshot.stamp(source.toString()));
+
+        TimeLogStore snapshot = BinarySnapshot.readAttendance(source.toString());
+        assertNotNull(snapshot);
+        assertEquals(4, snapshot.size());
+        for (int row = 0; row < parsed.size(); row++) {
+            assertEquals(parsed.employeeId(row), snapshot.employeeId(row));
+            assertEquals(parsed.epochDay(row), snapshot.epochDay(row));
+            assertEquals(parsed.logInMinute(row), snapshot.logInMinute(row));
+            assertEquals(parsed.logOutMinute(row), snapshot.logOutMinute(row));
+            assertEquals(parsed.employeeNumber(row), snapshot.employeeNumber(row));
+            assertEquals(parsed.lastName(row), snapshot.lastName(row));
+            assertEquals(parsed.firstName(row), snapshot.firstName(row));
+        }
+        assertEquals("01001", snapshot.employeeNumber(2));
+    }
+
+    @Test
+    void attendanceSnapshotIsIgnoredOnceTheSourceChanges() throws IOException {
+        Path source = writeAttendance();
+        long[] stamp = BinarySnapshot.stamp(source.toString());
+        BinarySnapshot.writeAttendance(source.toString(), LoadTimeSheet.parseTextStore(source.toString()), stamp);
+        assertNotNull(BinarySnapshot.readAttendance(source.toString()));
+
+        Files.write(source, "\n10002\tLim\tAntonio\t06/04/2024\t8:00\t17:00".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+        assertNull(BinarySnapshot.readAttendance(source.toString()));
+        assertEquals(5, LoadTimeSheet.loadStore(source.toString()).size());
+    }
+
+    @Test
+    void snapshotIsNotWrittenForASourceChangedWhileParsing() throws IOException {
+        Path source = writeAttendance();
+        long[] stamp = BinarySnapshot.stamp(source.toString());
+        TimeLogStore parsed = LoadTimeSheet.parseTextStore(source.toString());
+        Files.write(source, "\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        BinarySnapshot.writeAttendance(source.toString(), parsed, stamp);
+        assertEquals(false, Files.exists(BinarySnapshot.snapshotPath(source.toString())));
+    }
+
+    @Test
+    void damagedSnapshotIsIgnored() throws IOException {
+        Path source = writeAttendance();
+        BinarySnapshot.writeAttendance(source.toString(), LoadTimeSheet.parseTextStore(source.toString()),
+                BinarySnapshot.stamp(source.toString()));
+        Path snapshot = BinarySnapshot.snapshotPath(source.toString());
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 6);
+        }
+
+        assertNull(BinarySnapshot.readAttendance(source.toString()));
+    }
+
+    @Test
+    void employeeSnapshotReadsBackEveryField() throws IOException {
+        Path source = dir.resolve("Employee Details.csv");
+        List<EmployeeProfile> employees = List.of(
+                new EmployeeProfile("10001", "Garcia", "Manuel III", "10/11/1983", "Valero Carpark Building, Makati",
+                        "966-860-270", "44-4506057-3", "820126853951", "442-605-657-000", "691295330870",
+                        "Regular", "Chief Executive Officer", "N/A", 90000, 1500, 2000, 1000, 45000, 535.71),
+                new EmployeeProfile("10002", "Lim", "Antonio", "06/19/1988", "San Antonio De Padua 2, Cavite",
+                        "171-867-411", "52-2061274-9", "331735646338", "683-102-776-000", "663904995411",
+                        "Regular", "Chief Operating Officer", "Garcia, Manuel III", 60000, 1500, 2000, 1000, 30000, 357.14));
+        List<String> rows = new ArrayList<>();
+        rows.add(EmployeeMasterFile.HEADER);
+        for (EmployeeProfile employee : employees) {
+            rows.add(EmployeeMasterFile.formatRow(employee));
+        }
+        Files.write(source, rows, StandardCharsets.UTF_8);
+
+        BinarySnapshot.writeEmployees(source.toString(), employees, BinarySnapshot.stamp(source.toString()));
+        List<EmployeeProfile> snapshot = BinarySnapshot.readEmployees(source.toString());
+        assertNotNull(snapshot);
+        assertEquals(rows.subList(1, rows.size()), formatRows(snapshot));
+    }
+
+    private Path writeAttendance() throws IOException {
+        Path source = dir.resolve("Employee Attendance Record.tsv");
+        Files.write(source, ATTENDANCE.getBytes(StandardCharsets.UTF_8));
+        return source;
+    }
+
+    private static List<String> formatRows(List<EmployeeProfile> employees) {
+        List<String> rows = new ArrayList<>();
+        for (EmployeeProfile employee : employees) {
+            rows.add(EmployeeMasterFile.formatRow(employee));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,210 @@
+package dataLoader;
+
+import models.EmployeeProfile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Replay, torn and damaged entries, and compaction of the employee change log.
+ * Every test works on its own master file, so each gets a fresh {@link EmployeeMasterFile}.
+ */
+class EmployeeMasterFileTest {
+
+    @TempDir
+    Path dir;
+
+    private Path master;
+
+    @BeforeEach
+    void writeMaster() throws IOException {
+        master = dir.resolve("Employee Details.csv");
+        writeMaster(master, "10001", "Garcia", "10002", "Lim");
+    }
+
+    @Test
+    void replaysLoggedChangesOverTheMaster() throws IOException {
+        EmployeeMasterFile file = EmployeeMasterFile.forFile(master.toString());
+        file.recordUpdate(employee("10001", "Updated"));
+        file.recordInsert(employee("10003", "Added"));
+        file.recordDelete("10002");
+
+        assertEquals(List.of("10001 Updated", "10003 Added"), read(file));
+        assertEquals(List.of("10001 Garcia", "10002 Lim"), names(LoadEmployeeData.loadFromText(master.toString())));
+    }
+
+    @Test
+    void ignoresPartialEntryAndDoesNotGlueTheNextEntryToIt() throws IOException {
+        EmployeeMasterFile file = EmployeeMasterFile.forFile(master.toString());
+        file.recordUpdate(employee("10001", "Updated"));
+        // A crash in the middle of the next append
+        Files.write(file.getLogPath(), "2\tDELETE\t".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        assertEquals(List.of("10001 Updated", "10002 Lim"), read(file));
+
+        file.recordDelete("10002");
+        assertEquals(List.of("10001 Updated"), read(file));
+        List<String> log = Files.readAllLines(file.getLogPath(), StandardCharsets.UTF_8);
+        assertEquals(2, log.size());
+        assertTrue(log.get(1).startsWith("2\tDELETE\t"), log.get(1));
+    }
+
+    @Test
+    void dropsPartialEntryLeftByAnEarlierRun() throws IOException {
+        EmployeeMasterFile first = EmployeeMasterFile.forFile(master.toString());
+        first.recordUpdate(employee("10001", "Updated"));
+
+        // Same files under another name stand in for a restart after the crash
+        Path copy = dir.resolve("copy.csv");
+        Files.copy(master, copy);
+        Path copyLog = dir.resolve("copy.csv" + EmployeeMasterFile.LOG_SUFFIX);
+        Files.copy(first.getLogPath(), copyLog);
+        long intactLength = Files.size(copyLog);
+        Files.write(copyLog, "2\tUPDATE\t1234".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        EmployeeMasterFile restarted = EmployeeMasterFile.forFile(copy.toString());
+        assertEquals(intactLength, Files.size(copyLog));
+        assertEquals(List.of("10001 Updated", "10002 Lim"), read(restarted));
+    }
+
+    @Test
+    void ignoresEntryWithWrongChecksum() throws IOException {
+        EmployeeMasterFile file = EmployeeMasterFile.forFile(master.toString());
+        file.recordUpdate(employee("10001", "Updated"));
+        String forged = "2\tUPDATE\tdeadbeef\t" + EmployeeMasterFile.formatRow(employee("10002", "Forged")) + "\n";
+        Files.write(file.getLogPath(), forged.getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        assertEquals(List.of("10001 Updated", "10002 Lim"), read(file));
+    }
+
+    @Test
+    void compactionFoldsChangesIntoTheMasterAndLeavesACheckpoint() throws IOException {
+        EmployeeMasterFile file = EmployeeMasterFile.forFile(master.toString());
+        file.recordUpdate(employee("10001", "Updated"));
+        file.recordInsert(employee("10003", "Added"));
+        file.recordDelete("10002");
+
+        assertEquals(3, file.compact());
+
+        assertEquals(List.of("10001 Updated", "10003 Added"), names(LoadEmployeeData.loadFromText(master.toString())));
+        assertEquals(List.of("3\tCHECKPOINT\t0\t"), Files.readAllLines(file.getLogPath(), StandardCharsets.UTF_8));
+        assertEquals(0, file.getPendingChanges());
+        assertEquals(0, file.compact());
+
+        // Sequence numbers continue after the checkpoint
+        file.recordDelete("10003");
+        List<String> log = Files.readAllLines(file.getLogPath(), StandardCharsets.UTF_8);
+        assertTrue(log.get(1).startsWith("4\tDELETE\t"), log.get(1));
+        assertEquals(List.of("10001 Updated"), read(file));
+    }
+
+    @Test
+    void compactionKeepsRowsWithDuplicateEmployeeNumbers() throws IOException {
+        writeMaster(master, "10001", "Garcia", "10002", "Lim", "10002", "Duplicate");
+        EmployeeMasterFile file = EmployeeMasterFile.forFile(master.toString());
+        file.recordUpdate(employee("10002", "Updated"));
+        file.compact();
+
+        assertEquals(List.of("10001 Garcia", "10002 Updated", "10002 Duplicate"),
+                names(LoadEmployeeData.loadFromText(master.toString())));
+    }
+
+    @Test
+    void deletionRemovesEveryRowWithTheNumberAndCanBeReplayedAgain() throws IOException {
+        writeMaster(master, "10001", "Garcia", "10002", "Lim", "10003", "Reyes", "10002", "Duplicate");
+        EmployeeMasterFile file = EmployeeMasterFile.forFile(master.toString());
+        file.recordDelete("10002");
+        assertEquals(List.of("10001 Garcia", "10003 Reyes"), read(file));
+
+        // A crash after the master was replaced but before the log was cut replays the deletion again
+        byte[] log = Files.readAllBytes(file.getLogPath());
+        file.compact();
+        Files.write(file.getLogPath(), log);
+        Path copy = dir.resolve("copy.csv");
+        Files.copy(master, copy);
+        Files.copy(file.getLogPath(), dir.resolve("copy.csv" + EmployeeMasterFile.LOG_SUFFIX));
+
+        EmployeeMasterFile restarted = EmployeeMasterFile.forFile(copy.toString());
+        assertEquals(List.of("10001 Garcia", "10003 Reyes"), read(restarted));
+        restarted.compact();
+        assertEquals(List.of("10001 Garcia", "10003 Reyes"), names(LoadEmployeeData.loadFromText(copy.toString())));
+    }
+
+    @Test
+    void compactionIsNotReportedAsAnExternalRewrite() throws IOException {
+        Files.write(dir.resolve("attendance.tsv"), List.of("Employee #"), StandardCharsets.UTF_8);
+        AtomicInteger rewrites = new AtomicInteger();
+        try (DataFileWatcher watcher = new DataFileWatcher(dir.resolve("attendance.tsv").toString(), master.toString())) {
+            watcher.addListener(new DataFileWatcher.Listener() {
+                @Override
+                public void employeesRewritten() {
+                    rewrites.incrementAndGet();
+                }
+            });
+            EmployeeMasterFile file = EmployeeMasterFile.forFile(master.toString());
+            file.addCompactionListener(new EmployeeMasterFile.CompactionListener() {
+                @Override
+                public void masterRewriting() {
+                    watcher.expectWrite(master.toString());
+                }
+
+                @Override
+                public void masterRewritten() {
+                    // The watch event for the rename is handled before the acknowledgement
+                    watcher.poll(master.toString());
+                    watcher.acknowledge(master.toString());
+                }
+            });
+            file.recordUpdate(employee("10001", "Updated"));
+            file.recordDelete("10002");
+            file.compact();
+            watcher.poll(master.toString());
+            assertEquals(0, rewrites.get());
+
+            writeMaster(master, "10002", "External");
+            watcher.poll(master.toString());
+            assertEquals(1, rewrites.get());
+        }
+    }
+
+    private static void writeMaster(Path file, String... numbersAndNames) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add(EmployeeMasterFile.HEADER);
+        for (int i = 0; i < numbersAndNames.length; i += 2) {
+            lines.add(EmployeeMasterFile.formatRow(employee(numbersAndNames[i], numbersAndNames[i + 1])));
+        }
+        Files.write(file, lines, StandardCharsets.UTF_8);
+    }
+
+    private static EmployeeProfile employee(String number, String lastName) {
+        return new EmployeeProfile(number, lastName, "Juan", "01/15/1990", "Manila", "555-0100",
+                "44-4506057-3", "820126853951", "442-605-657-000", "691295330870", "Regular",
+                "Account Manager", "Garcia, Manuel III", 53500, 1500, 1000, 1000, 26750, 318.45);
+    }
+
+    private static List<String> read(EmployeeMasterFile file) {
+        List<EmployeeProfile> employees = new ArrayList<>();
+        file.read(employees::add, bytesRead -> { });
+        return names(employees);
+    }
+
+    private static List<String> names(List<EmployeeProfile> employees) {
+        List<String> names = new ArrayList<>();
+        for (EmployeeProfile employee : employees) {
+            names.add(employee.getEmployeeNumber() + " " + employee.getLastName());
+        }
+        return names;
+    }
+}
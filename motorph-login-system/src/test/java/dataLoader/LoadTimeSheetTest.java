@@ -0,0 +1,65 @@
+package dataLoader;
+
+import models.TimeLogStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Rows appended to the attendance file must end up under the same employees as a full parse
+ * of the file would put them.
+ */
+class LoadTimeSheetTest {
+
+    private static final String HEADER = "Employee #\tLast Name\tFirst Name\tDate\tLog In\tLog Out";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void appendedRowsGetTheIdsOfAFullParse() throws IOException {
+        List<String> rows = List.of(
+                "10001\tGarcia\tManuel III\t06/03/2024\t8:59\t18:31",
+                "10001 \tGarcia\tManuel III\t06/04/2024\t9:00\t18:00",
+                "01001\tZero\tLeading\t06/04/2024\t8:00\t17:00",
+                "E-17\tLetter\tEmployee\t06/05/2024\t8:00\t17:00");
+        Path file = dir.resolve("attendance.tsv");
+        Files.write(file, (HEADER + "\n" + String.join("\n", rows)).getBytes(StandardCharsets.UTF_8));
+
+        TimeLogStore parsed = LoadTimeSheet.parseTextStore(file.toString());
+        TimeLogStore appended = LoadTimeSheet.parseStore(rows);
+        assertEquals(4, parsed.size());
+        assertEquals(4, appended.size());
+        for (int row = 0; row < rows.size(); row++) {
+            assertEquals(parsed.employeeId(row), appended.employeeId(row));
+            assertEquals(parsed.employeeNumber(row), appended.employeeNumber(row));
+        }
+        assertEquals("10001 ", appended.employeeNumber(1));
+    }
+
+    @Test
+    void appendedRowsOfAClashingEmployeeNumberAreDropped() {
+        // "E-Aa" and "E-BB" have the same String.hashCode, so the same id
+        assertEquals(TimeLogStore.idOf("E-Aa"), TimeLogStore.idOf("E-BB"));
+        TimeLogStore loaded = LoadTimeSheet.parseStore(List.of(
+                "E-Aa\tFirst\tEmployee\t06/03/2024\t8:00\t17:00",
+                "E-BB\tSecond\tEmployee\t06/03/2024\t8:00\t17:00"));
+        assertEquals(1, loaded.size());
+
+        TimeLogStore appended = LoadTimeSheet.parseStore(List.of(
+                "10001\tGarcia\tManuel III\t06/04/2024\t8:59\t18:31",
+                "E-BB\tSecond\tEmployee\t06/04/2024\t8:00\t17:00"));
+        TimeLogStore merged = loaded.mergeSorted(appended.sortedByEmployeeAndDate());
+        assertEquals(2, merged.size());
+        for (int row = 0; row < merged.size(); row++) {
+            assertEquals(row == 0 ? "E-Aa" : "10001", merged.employeeNumber(row));
+        }
+    }
+}
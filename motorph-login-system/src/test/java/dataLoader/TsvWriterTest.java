@@ -0,0 +1,80 @@
+package dataLoader;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Two-decimal formatting must match {@code String.format("%.2f")} exactly, including the
+ * values where binary rounding and HALF_UP disagree.
+ */
+class TsvWriterTest {
+
+    // Ties and near-ties in binary, negatives, signed zero and the edge of the fast path
+    private static final double[] HARD_VALUES = {
+        0, -0.0, 0.005, 0.015, 0.025, 0.125, 0.375, 1.005, 1.115, 2.675, 8.345, 10.005, 1234.565,
+        0.0049999999999, 0.0050000000001, 313.51, 52670 / 168.0,
+        -0.001, -0.005, -0.125, -1.005, -2.675, -1.5, -313.51,
+        999_999_999.994, 999_999_999.995, 1e9, 1e12 + 0.005, 5e-324,
+        Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY
+    };
+
+    @Test
+    void appendFixed2MatchesStringFormatOnHardValues() {
+        for (double value : HARD_VALUES) {
+            assertFormatted(value);
+        }
+    }
+
+    @Test
+    void appendFixed2MatchesStringFormatNearHalfCents() {
+        for (int cents = -100_000; cents <= 100_000; cents++) {
+            double tie = (cents + 0.5) / 100;
+            assertFormatted(tie);
+            assertFormatted(Math.nextUp(tie));
+            assertFormatted(Math.nextDown(tie));
+            assertFormatted(cents / 1000.0);
+        }
+    }
+
+    @Test
+    void appendFixed2MatchesStringFormatOnRandomAmounts() {
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            assertFormatted(random.nextDouble() * 200_000);
+            assertFormatted(random.nextInt(100_000) / 168.0);
+            assertFormatted((random.nextDouble() - 0.5) * 2e6);
+        }
+    }
+
+    @Test
+    void fixed2WritesTheSameTextAsAppendFixed2(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("amounts.tsv");
+        List<String> expected = new ArrayList<>();
+        try (TsvWriter writer = TsvWriter.create(file)) {
+            for (double value : HARD_VALUES) {
+                writer.fixed2(value);
+                expected.add(String.format(Locale.ROOT, "%.2f", value));
+            }
+            writer.endRow();
+        }
+        assertEquals(String.join("\t", expected) + System.lineSeparator(),
+                Files.readString(file, StandardCharsets.UTF_8));
+    }
+
+    private static void assertFormatted(double value) {
+        assertEquals(String.format(Locale.ROOT, "%.2f", value),
+                TsvWriter.appendFixed2(new StringBuilder(), value).toString(),
+                () -> "appendFixed2(" + value + ")");
+    }
+}